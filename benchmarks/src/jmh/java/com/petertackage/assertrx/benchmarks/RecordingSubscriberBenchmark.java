@@ -0,0 +1,70 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx.benchmarks;
+
+import com.petertackage.assertrx.PreallocatedTestSubscriber;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of recording a stream with a new {@link TestSubscriber} per run against a reused
+ * {@link PreallocatedTestSubscriber}.
+ * <p/>
+ * Run with <code>-prof gc</code> to see the allocation per run of each.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class RecordingSubscriberBenchmark {
+
+    @Param({"10", "10000", "1000000"})
+    public int size;
+
+    private Observable<Integer> source;
+    private PreallocatedTestSubscriber<Integer> preallocated;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        source = Observable.range(0, size);
+        preallocated = new PreallocatedTestSubscriber<Integer>(size);
+    }
+
+    @Benchmark
+    public long testSubscriber() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        source.unsafeSubscribe(ts);
+        return ts.getValueCount();
+    }
+
+    @Benchmark
+    public long preallocatedTestSubscriber() {
+        preallocated.reset();
+        source.unsafeSubscribe(preallocated);
+        return preallocated.getValueCount();
+    }
+
+}
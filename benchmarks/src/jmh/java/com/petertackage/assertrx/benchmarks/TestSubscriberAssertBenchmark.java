@@ -0,0 +1,160 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.petertackage.assertrx.Assertions.assertThat;
+
+/**
+ * Compares each {@link com.petertackage.assertrx.TestSubscriberAssert} assertion against the equivalent
+ * raw {@link TestSubscriber} assertion (or hand written check, where {@link TestSubscriber} has none).
+ * <p/>
+ * Each pair is named <code>fluent_*</code> and <code>raw_*</code> so that the overhead of the fluent layer can be
+ * read straight from the results. Run with <code>./gradlew :benchmarks:jmh</code>, the results (including
+ * <code>-prof gc</code> allocation rates) are written to <code>benchmarks/build/reports/jmh</code>.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+public class TestSubscriberAssertBenchmark {
+
+    @Param({"10", "10000", "10000000"})
+    public int size;
+
+    private TestSubscriber<Integer> completed;
+    private TestSubscriber<Integer> errored;
+    private List<Integer> expectedList;
+    private Integer[] expectedArray;
+    private Integer firstValue;
+    private Integer lastValue;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        completed = new TestSubscriber<Integer>();
+        errored = new TestSubscriber<Integer>();
+        expectedList = new ArrayList<Integer>(size);
+        for (int i = 0; i < size; i++) {
+            completed.onNext(i);
+            errored.onNext(i);
+            // Separately boxed so that the comparisons can't short-circuit on identity.
+            expectedList.add(new Integer(i));
+        }
+        completed.onCompleted();
+        errored.onError(new IllegalStateException("expected"));
+        expectedArray = expectedList.toArray(new Integer[size]);
+        firstValue = new Integer(0);
+        lastValue = new Integer(size - 1);
+    }
+
+    // hasReceivedValues(List)
+
+    @Benchmark
+    public Object fluent_hasReceivedValuesList() {
+        return assertThat(completed).hasReceivedValues(expectedList);
+    }
+
+    @Benchmark
+    public Object raw_assertReceivedOnNext() {
+        completed.assertReceivedOnNext(expectedList);
+        return completed;
+    }
+
+    // hasReceivedValues(T...)
+
+    @Benchmark
+    public Object fluent_hasReceivedValuesVarargs() {
+        return assertThat(completed).hasReceivedValues(expectedArray);
+    }
+
+    @Benchmark
+    public Object raw_assertValues() {
+        completed.assertValues(expectedArray);
+        return completed;
+    }
+
+    // hasReceivedFirstValue
+
+    @Benchmark
+    public Object fluent_hasReceivedFirstValue() {
+        return assertThat(completed).hasReceivedFirstValue(firstValue);
+    }
+
+    @Benchmark
+    public Object raw_firstValue() {
+        List<Integer> values = completed.getOnNextEvents();
+        if (values.isEmpty() || !firstValue.equals(values.get(0))) {
+            throw new AssertionError("First value mismatch");
+        }
+        return values;
+    }
+
+    // hasReceivedLastValue
+
+    @Benchmark
+    public Object fluent_hasReceivedLastValue() {
+        return assertThat(completed).hasReceivedLastValue(lastValue);
+    }
+
+    @Benchmark
+    public Object raw_lastValue() {
+        List<Integer> values = completed.getOnNextEvents();
+        if (values.isEmpty() || !lastValue.equals(values.get(values.size() - 1))) {
+            throw new AssertionError("Last value mismatch");
+        }
+        return values;
+    }
+
+    // hasReceivedValuesWhich()
+
+    @Benchmark
+    public Object fluent_hasReceivedValuesWhich() {
+        return assertThat(completed).hasReceivedValuesWhich().hasSize(size);
+    }
+
+    @Benchmark
+    public Object raw_assertValueCount() {
+        completed.assertValueCount(size);
+        return completed;
+    }
+
+    // hasErrorWhich()
+
+    @Benchmark
+    public Object fluent_hasErrorWhich() {
+        return assertThat(errored).hasErrorWhich().isInstanceOf(IllegalStateException.class);
+    }
+
+    @Benchmark
+    public Object raw_assertError() {
+        errored.assertError(IllegalStateException.class);
+        return errored;
+    }
+
+}
@@ -3,6 +3,7 @@ import org.junit.Test;
 import rx.Observable;
 import rx.functions.Func1;
 import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
 
 import java.util.concurrent.TimeUnit;
 
@@ -29,6 +30,21 @@ public class BasicSamplesTest {
                 .hasReceivedValue(value);
     }
 
+    @Test
+    public void testDelayOnVirtualTime() {
+        // Same as testDelay, but the TestScheduler is advanced instead of waiting 2 seconds.
+        String value = "avalue";
+        TestScheduler scheduler = new TestScheduler();
+        Observable<String> delayObservable = Observable.just(value).delay(2, TimeUnit.SECONDS, scheduler);
+
+        TestSubscriber<String> ts = TestSubscriber.create();
+        delayObservable.subscribe(ts);
+
+        assertThat(ts)
+                .afterTerminalEvent(scheduler, 5, TimeUnit.SECONDS)
+                .hasReceivedValue(value);
+    }
+
     @Test
     public void testFiltering() {
         String value = "catalog";
@@ -0,0 +1,279 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.AbstractThrowableAssert;
+import org.assertj.core.util.Objects;
+import rx.functions.Func1;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertion methods for the terminal events and counts of {@link RecordingSubscriber}s.
+ *
+ * @param <S> the "self" type of this assertion class.
+ * @param <A> the type of {@link RecordingSubscriber}.
+ */
+public abstract class AbstractRecordingSubscriberAssert<S extends AbstractRecordingSubscriberAssert<S, A>, A extends RecordingSubscriber<?>>
+        extends AbstractAssert<S, A> {
+
+    protected AbstractRecordingSubscriberAssert(final A actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * See {@link RecordingSubscriber#awaitTerminalEvent()}
+     */
+    public S afterTerminalEvent() {
+        isNotNull();
+        awaitTerminalEvent("afterTerminalEvent()", AwaitProfiler.UNBOUNDED, TimeUnit.NANOSECONDS, false);
+        return myself;
+    }
+
+    /**
+     * See {@link RecordingSubscriber#awaitTerminalEvent(long, TimeUnit)}
+     */
+    public S afterTerminalEvent(final long timeout, final TimeUnit unit) {
+        isNotNull();
+        awaitTerminalEvent(String.format("afterTerminalEvent(%s, %s)", timeout, unit), timeout, unit, false);
+        return myself;
+    }
+
+    /**
+     * See {@link RecordingSubscriber#awaitTerminalEventAndUnsubscribeOnTimeout(long, TimeUnit)}
+     */
+    public S afterTerminalEventAndUnsubscribingIfTimeout(final long timeout, final TimeUnit unit) {
+        isNotNull();
+        awaitTerminalEvent(String.format("afterTerminalEventAndUnsubscribingIfTimeout(%s, %s)", timeout, unit),
+                timeout, unit, true);
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received no onNext events.
+     *
+     * @return this assertion object.
+     */
+    public S hasNoValues() {
+        isNotNull();
+        final long count = actual.getValueCount();
+        if (count != 0) {
+            failWithMessage(Messages.format("Expected no onNext events, but received: <%s>.", count));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received one or more onNext events.
+     *
+     * @return this assertion object.
+     */
+    public S hasReceivedAnyValues() {
+        isNotNull();
+        if (actual.getValueCount() == 0) {
+            failWithMessage("Expected received onNext events not to be empty.");
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly <code>count</code> onNext events.
+     *
+     * @param count the expected number of onNext events.
+     * @return this assertion object.
+     */
+    public S hasValueCount(final long count) {
+        isNotNull();
+        final long actualCount = actual.getValueCount();
+        if (actualCount != count) {
+            failWithMessage(Messages.format("Expected <%s> onNext events, but received: <%s>.", count, actualCount));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly one onCompleted event.
+     *
+     * @return this assertion object.
+     */
+    public S hasCompleted() {
+        isNotNull();
+        final int completions = actual.getCompletions();
+        if (completions != 1) {
+            failWithMessage(Messages.format("Expected a single onCompleted event, but received: <%s>.", completions));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received no onCompleted events.
+     *
+     * @return this assertion object.
+     */
+    public S hasNotCompleted() {
+        isNotNull();
+        final int completions = actual.getCompletions();
+        if (completions != 0) {
+            failWithMessage(Messages.format("Expected no onCompleted events, but received: <%s>.", completions));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received no onError events.
+     *
+     * @return this assertion object.
+     */
+    public S hasNoErrors() {
+        isNotNull();
+        if (actual.getErrorCount() != 0) {
+            failWithMessage(Messages.format("Expected no onError events, but received: <%s> (first: <%s>).",
+                    actual.getErrorCount(), actual.getFirstError()));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received a single onError event equal to the provided {@link Throwable}.
+     *
+     * @param throwable the expected error.
+     * @return this assertion object.
+     */
+    public S hasError(final Throwable throwable) {
+        isNotNull();
+        assertThat(throwable).isNotNull();
+        hasSingleError();
+        if (!Objects.areEqual(actual.getFirstError(), throwable)) {
+            failWithMessage(Messages.format("Expected onError event: <%s>, but was: <%s>.", throwable, actual.getFirstError()));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received a single onError event which is an instance of the provided class.
+     *
+     * @param clazz the expected error type.
+     * @return this assertion object.
+     */
+    public S hasError(final Class<? extends Throwable> clazz) {
+        isNotNull();
+        assertThat(clazz).isNotNull();
+        hasSingleError();
+        if (!clazz.isInstance(actual.getFirstError())) {
+            failWithMessage(Messages.format("Expected onError event of type: <%s>, but was: <%s>.", clazz, actual.getFirstError()));
+        }
+        return myself;
+    }
+
+    /**
+     * Returns an {@link AbstractThrowableAssert} for higher order assertions on the single received onError value.
+     */
+    public AbstractThrowableAssert<?, ? extends Throwable> hasErrorWhich() {
+        isNotNull();
+        hasSingleError();
+        return assertThat(actual.getFirstError());
+    }
+
+    /**
+     * Passes when the subscriber has received exactly one terminal event.
+     *
+     * @return this assertion object.
+     */
+    public S hasTerminalEvent() {
+        isNotNull();
+        final int terminalEvents = actual.getCompletions() + actual.getErrorCount();
+        if (terminalEvents != 1) {
+            failWithMessage(Messages.format("Expected a single terminal event, but received: <%s>.", terminalEvents));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber has received no terminal events.
+     *
+     * @return this assertion object.
+     */
+    public S hasNoTerminalEvent() {
+        isNotNull();
+        final int terminalEvents = actual.getCompletions() + actual.getErrorCount();
+        if (terminalEvents != 0) {
+            failWithMessage(Messages.format("Expected no terminal events, but received: <%s>.", terminalEvents));
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the subscriber is unsubscribed.
+     *
+     * @return this assertion object.
+     */
+    public S isUnsubscribed() {
+        isNotNull();
+        if (!actual.isUnsubscribed()) {
+            failWithMessage("Expected to be unsubscribed.");
+        }
+        return myself;
+    }
+
+    /**
+     * Passes when the thread on which the subscriber's most recent event was received is equal to the supplied
+     * {@link Thread} parameter.
+     *
+     * @param thread the expected last seen {@link Thread}
+     * @return this assertion object.
+     */
+    public S wasLastObservedOn(final Thread thread) {
+        isNotNull();
+        final Thread lastSeenThread = actual.getLastSeenThread();
+        if (!Objects.areEqual(lastSeenThread, thread)) {
+            failWithMessage(Messages.format("Expected to be observed on: <%s>, was observed on: <%s>.", thread, lastSeenThread));
+        }
+        return myself;
+    }
+
+    private void hasSingleError() {
+        final int errorCount = actual.getErrorCount();
+        if (errorCount != 1) {
+            failWithMessage(Messages.format("Expected a single onError event, but received: <%s>.", errorCount));
+        }
+    }
+
+    // A timeout of AwaitProfiler.UNBOUNDED waits indefinitely, unless cut short by the profiler's budget.
+    private void awaitTerminalEvent(final String description,
+                                    final long timeout,
+                                    final TimeUnit unit,
+                                    final boolean unsubscribeOnTimeout) {
+        AwaitProfiler.await(description, unit.toNanos(timeout), new Func1<Long, Boolean>() {
+            @Override
+            public Boolean call(final Long boundedNanos) {
+                final long awaitTimeout = boundedNanos == null ? timeout : boundedNanos;
+                final TimeUnit awaitUnit = boundedNanos == null ? unit : TimeUnit.NANOSECONDS;
+                if (awaitTimeout == AwaitProfiler.UNBOUNDED) {
+                    actual.awaitTerminalEvent();
+                } else if (unsubscribeOnTimeout) {
+                    actual.awaitTerminalEventAndUnsubscribeOnTimeout(awaitTimeout, awaitUnit);
+                } else {
+                    actual.awaitTerminalEvent(awaitTimeout, awaitUnit);
+                }
+                return actual.getCompletions() > 0 || actual.getErrorCount() > 0;
+            }
+        });
+    }
+
+}
@@ -15,10 +15,15 @@
  */
 package com.petertackage.assertrx;
 
+import rx.Observable;
+import rx.functions.Func0;
 import rx.observers.TestSubscriber;
 
+import java.util.ArrayList;
+import java.util.Collection;
+
 /**
- * Entry point for performing {@link TestSubscriber} assertions.
+ * Entry point for performing {@link TestSubscriber} and {@link RecordingSubscriber} assertions.
  */
 public final class Assertions {
 
@@ -32,6 +37,138 @@ public final class Assertions {
         return new TestSubscriberAssert<T>(actual, TestSubscriberAssert.class);
     }
 
+    /**
+     * Creates a new instance of <code>{@link ObservableAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static <T> ObservableAssert<T> assertThat(final Observable<T> actual) {
+        return new ObservableAssert<T>(actual, ObservableAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link TestSubscribersAssert}</code>, to run the same assertions in parallel
+     * across many subscribers.
+     *
+     * @param actual the actual values.
+     * @return the created assertion object.
+     */
+    public static <T> TestSubscribersAssert<T> assertThatAll(final Collection<? extends TestSubscriber<T>> actual) {
+        return new TestSubscribersAssert<T>(actual == null ? null : new ArrayList<TestSubscriber<T>>(actual),
+                TestSubscribersAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link StressAssert}</code>, to run the {@link Observable}s created by the
+     * factory many times concurrently.
+     *
+     * @param factory the factory of the {@link Observable} under test.
+     * @return the created assertion object.
+     */
+    public static <T> StressAssert<T> assertThatStressed(final Func0<? extends Observable<T>> factory) {
+        return new StressAssert<T>(factory, StressAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link StressAssert}</code>, to run the {@link Observable}s created by the
+     * factory many times concurrently, each subscribed to by a {@link TestSubscriber} from the subscriber factory.
+     *
+     * @param factory     the factory of the {@link Observable} under test.
+     * @param subscribers the factory of the {@link TestSubscriber} for each iteration.
+     * @return the created assertion object.
+     */
+    public static <T> StressAssert<T> assertThatStressed(final Func0<? extends Observable<T>> factory,
+                                                         final Func0<? extends TestSubscriber<T>> subscribers) {
+        return assertThatStressed(factory).withSubscribers(subscribers);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link InterleavingAssert}</code>, to explore the interleavings of the actions
+     * the {@link Observable}s created by the factory schedule.
+     *
+     * @param factory the factory of the {@link Observable} under test.
+     * @return the created assertion object.
+     */
+    public static <T> InterleavingAssert<T> assertThatInterleavings(final Func0<? extends Observable<T>> factory) {
+        return new InterleavingAssert<T>(factory, InterleavingAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link InterleavingAssert}</code>, to explore the interleavings of the actions
+     * the {@link Observable}s created by the factory schedule, each subscribed to by a {@link TestSubscriber} from the
+     * subscriber factory.
+     *
+     * @param factory     the factory of the {@link Observable} under test.
+     * @param subscribers the factory of the {@link TestSubscriber} for each interleaving.
+     * @return the created assertion object.
+     */
+    public static <T> InterleavingAssert<T> assertThatInterleavings(final Func0<? extends Observable<T>> factory,
+                                                                    final Func0<? extends TestSubscriber<T>> subscribers) {
+        return assertThatInterleavings(factory).withSubscribers(subscribers);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link BoundedTestSubscriberAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static <T> BoundedTestSubscriberAssert<T> assertThat(final BoundedTestSubscriber<T> actual) {
+        return new BoundedTestSubscriberAssert<T>(actual, BoundedTestSubscriberAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link PreallocatedTestSubscriberAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static <T> PreallocatedTestSubscriberAssert<T> assertThat(final PreallocatedTestSubscriber<T> actual) {
+        return new PreallocatedTestSubscriberAssert<T>(actual, PreallocatedTestSubscriberAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link IntTestSubscriberAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static IntTestSubscriberAssert assertThat(final IntTestSubscriber actual) {
+        return new IntTestSubscriberAssert(actual, IntTestSubscriberAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link LongTestSubscriberAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static LongTestSubscriberAssert assertThat(final LongTestSubscriber actual) {
+        return new LongTestSubscriberAssert(actual, LongTestSubscriberAssert.class);
+    }
+
+    /**
+     * Creates a new instance of <code>{@link DoubleTestSubscriberAssert}</code>.
+     *
+     * @param actual the actual value.
+     * @return the created assertion object.
+     */
+    public static DoubleTestSubscriberAssert assertThat(final DoubleTestSubscriber actual) {
+        return new DoubleTestSubscriberAssert(actual, DoubleTestSubscriberAssert.class);
+    }
+
+    /**
+     * Sets the maximum length, in characters, at which a list of values is rendered in full in an assertion failure
+     * message. Longer lists are rendered as head and tail excerpts with the total count. Defaults to
+     * {@value Messages#DEFAULT_MAX_VALUES_LENGTH}.
+     *
+     * @param length the maximum length, which must be positive.
+     */
+    public static void setMaxRenderedValuesLength(final int length) {
+        Messages.setMaxValuesLength(length);
+    }
+
     private Assertions() {
         throw new AssertionError("No instances.");
     }
@@ -0,0 +1,252 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times the awaits made through the assertions while a {@link Session} is active on the thread, as set up by
+ * {@link AwaitProfilingRule}, and enforces the session's budget of total await time.
+ * <p>
+ * Without a session, awaits run exactly as requested. A session is not inherited by threads started while it is
+ * active, such as those of RxJava's schedulers, which may outlive it; it is passed only to the worker threads of the
+ * assertions, through {@link #propagating(Runnable)}.
+ * </p>
+ */
+final class AwaitProfiler {
+
+    static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private static final int MAX_FRAMES = 16;
+    private static final ThreadLocal<Session> SESSION = new ThreadLocal<Session>();
+    private static final ThreadLocal<String> ORIGIN = new ThreadLocal<String>();
+    private static final Class<?>[] ASSERTION_CLASSES = {AwaitProfiler.class, TestSubscriberAssert.class,
+            AbstractRecordingSubscriberAssert.class, TestSubscribersAssert.class, StressAssert.class,
+            InterleavingAssert.class};
+
+    private AwaitProfiler() {
+    }
+
+    static Session begin(final String testName, final long budgetNanos) {
+        final Session session = new Session(testName, budgetNanos);
+        SESSION.set(session);
+        return session;
+    }
+
+    static void end() {
+        SESSION.remove();
+    }
+
+    /**
+     * Wraps a task run on a worker thread of an assertion, so that its awaits count against the calling thread's
+     * {@link Session}, if any, and are reported at the assertion's call site.
+     *
+     * @param task the task.
+     * @return the wrapped task, or the task itself without a session.
+     */
+    static Runnable propagating(final Runnable task) {
+        final Session session = SESSION.get();
+        if (session == null) {
+            return task;
+        }
+        final String origin = callSite();
+        return new Runnable() {
+            @Override
+            public void run() {
+                // The task may run on the calling thread itself, such as with a caller-runs executor.
+                final Session previousSession = SESSION.get();
+                final String previousOrigin = ORIGIN.get();
+                SESSION.set(session);
+                ORIGIN.set(origin);
+                try {
+                    task.run();
+                } finally {
+                    SESSION.set(previousSession);
+                    ORIGIN.set(previousOrigin);
+                }
+            }
+        };
+    }
+
+    /**
+     * See {@link #await(TestSubscriber, String, long, Func1)}.
+     */
+    static boolean await(final String description, final long timeoutNanos, final Func1<Long, Boolean> await) {
+        return await(null, description, timeoutNanos, await);
+    }
+
+    /**
+     * Runs the await, bounded by the remaining budget of the thread's {@link Session}, if any.
+     *
+     * @param subscriber   the {@link TestSubscriber} being awaited, whose last seen thread is reported, or null.
+     * @param description  the await, as written by the caller.
+     * @param timeoutNanos the timeout of the await, or {@link #UNBOUNDED}.
+     * @param await        the await, given its timeout in nanoseconds, {@link #UNBOUNDED}, or null to await as
+     *                     requested, returning true if it was satisfied.
+     * @return true if the await was satisfied.
+     * @throws AssertionError if the await was cut short by the budget.
+     */
+    static boolean await(final TestSubscriber<?> subscriber,
+                         final String description,
+                         final long timeoutNanos,
+                         final Func1<Long, Boolean> await) {
+        final Session session = SESSION.get();
+        if (session == null) {
+            return await.call(null);
+        }
+        final String callSite = callSite();
+        final long remainingNanos = session.getRemainingNanos();
+        final long boundedNanos = Math.min(timeoutNanos, remainingNanos);
+        final long start = System.nanoTime();
+        boolean satisfied = false;
+        long elapsedNanos;
+        try {
+            satisfied = await.call(boundedNanos);
+        } finally {
+            elapsedNanos = System.nanoTime() - start;
+            session.record(new Await(session.getTestName(), description, callSite, elapsedNanos));
+        }
+        // Unsatisfied awaits may also return early, on a terminal event; only those which ran out of budget fail.
+        if (!satisfied && boundedNanos < timeoutNanos && elapsedNanos >= boundedNanos) {
+            final String lastSeen = subscriber == null
+                    ? "" : String.format("%nLast event seen on: <%s>.", subscriber.getLastSeenThread());
+            throw new AssertionError(String.format(
+                    "Expected awaits to take at most <%s ms> in total, but <%s> was still blocked when the budget ran out, at: %s%s Thread stacks:%s",
+                    TimeUnit.NANOSECONDS.toMillis(session.getBudgetNanos()), description, callSite, lastSeen,
+                    threadStacks()));
+        }
+        return satisfied;
+    }
+
+    private static String callSite() {
+        final String origin = ORIGIN.get();
+        if (origin != null) {
+            return origin;
+        }
+        for (StackTraceElement element : new Throwable().getStackTrace()) {
+            if (!isAssertionClass(element.getClassName())) {
+                return element.toString();
+            }
+        }
+        return "unknown";
+    }
+
+    private static boolean isAssertionClass(final String className) {
+        for (Class<?> type : ASSERTION_CLASSES) {
+            if (className.equals(type.getName()) || className.startsWith(type.getName() + "$")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String threadStacks() {
+        final StringBuilder stacks = new StringBuilder();
+        for (Map.Entry<Thread, StackTraceElement[]> entry : Thread.getAllStackTraces().entrySet()) {
+            final Thread thread = entry.getKey();
+            if (thread == Thread.currentThread()) {
+                continue;
+            }
+            stacks.append(String.format("%n\"%s\" %s", thread.getName(), thread.getState()));
+            final StackTraceElement[] frames = entry.getValue();
+            for (int i = 0; i < Math.min(frames.length, MAX_FRAMES); i++) {
+                stacks.append(String.format("%n    at %s", frames[i]));
+            }
+            if (frames.length > MAX_FRAMES) {
+                stacks.append(String.format("%n    ... %s more", frames.length - MAX_FRAMES));
+            }
+        }
+        return stacks.toString();
+    }
+
+    /**
+     * The awaits of a single test, and its budget.
+     */
+    static final class Session {
+
+        private final String testName;
+        private final long budgetNanos;
+        private final List<Await> awaits = new ArrayList<Await>();
+        private long spentNanos;
+
+        Session(final String testName, final long budgetNanos) {
+            this.testName = testName;
+            this.budgetNanos = budgetNanos;
+        }
+
+        String getTestName() {
+            return testName;
+        }
+
+        long getBudgetNanos() {
+            return budgetNanos;
+        }
+
+        synchronized long getRemainingNanos() {
+            return Math.max(0, budgetNanos - spentNanos);
+        }
+
+        synchronized List<Await> getAwaits() {
+            return new ArrayList<Await>(awaits);
+        }
+
+        synchronized void record(final Await await) {
+            awaits.add(await);
+            spentNanos += await.getNanos();
+        }
+    }
+
+    /**
+     * A single timed await.
+     */
+    static final class Await {
+
+        private final String testName;
+        private final String description;
+        private final String callSite;
+        private final long nanos;
+
+        Await(final String testName, final String description, final String callSite, final long nanos) {
+            this.testName = testName;
+            this.description = description;
+            this.callSite = callSite;
+            this.nanos = nanos;
+        }
+
+        String getTestName() {
+            return testName;
+        }
+
+        String getDescription() {
+            return description;
+        }
+
+        String getCallSite() {
+            return callSite;
+        }
+
+        long getNanos() {
+            return nanos;
+        }
+    }
+
+}
@@ -0,0 +1,187 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.rules.TestRule;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A JUnit 4 rule which times every await made through the subscriber assertions, such as
+ * {@link TestSubscriberAssert#afterTerminalEvent()}, and fails a test whose awaits block for longer than a budget in
+ * total, with the stacks of all threads.
+ * <p>
+ * Used as a {@link org.junit.Rule}, the budget applies to each test; an await which would block beyond it, even one
+ * without a timeout, is cut short. Used as well, with the same instance, as a {@link org.junit.ClassRule}, a report
+ * of the slowest awaits of the suite is written once it has finished:
+ * </p>
+ * <pre>
+ * &#64;ClassRule
+ * public static final AwaitProfilingRule AWAITS = new AwaitProfilingRule(5, TimeUnit.SECONDS);
+ *
+ * &#64;Rule
+ * public final AwaitProfilingRule awaits = AWAITS;
+ * </pre>
+ * <p>
+ * Only awaits made on the test's thread, or on the worker threads of {@link TestSubscribersAssert},
+ * {@link StressAssert} and {@link InterleavingAssert}, are timed; those made on other threads, including any the test
+ * starts, are not. The awaits of {@link ObservableAssert} are not timed either, as they are bounded by its own
+ * timeout, and timing them would add to the allocation it measures.
+ * </p>
+ */
+public final class AwaitProfilingRule implements TestRule {
+
+    private static final int DEFAULT_SLOWEST_AWAITS = 10;
+    private static final File DEFAULT_REPORT_DIRECTORY = new File("build/reports/assert-rx");
+
+    private final long budgetNanos;
+    private final List<AwaitProfiler.Await> awaits = new ArrayList<AwaitProfiler.Await>();
+    private File reportDirectory = DEFAULT_REPORT_DIRECTORY;
+    private int slowestAwaits = DEFAULT_SLOWEST_AWAITS;
+
+    /**
+     * @param budget the maximum total time each test may spend blocked in awaits.
+     * @param unit   the {@link TimeUnit} of the budget.
+     */
+    public AwaitProfilingRule(final long budget, final TimeUnit unit) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget must not be negative: " + budget);
+        }
+        this.budgetNanos = unit.toNanos(budget);
+    }
+
+    /**
+     * Sets the directory to which the suite report is written, as <code>&lt;class name&gt;-awaits.txt</code>.
+     * Defaults to <code>build/reports/assert-rx</code>.
+     *
+     * @param directory the report directory, created if needed.
+     * @return this {@link AwaitProfilingRule}
+     */
+    public AwaitProfilingRule reportingTo(final File directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("directory must not be null");
+        }
+        this.reportDirectory = directory;
+        return this;
+    }
+
+    /**
+     * Sets the number of awaits listed in the suite report. Defaults to 10.
+     *
+     * @param count the number of awaits.
+     * @return this {@link AwaitProfilingRule}
+     */
+    public AwaitProfilingRule withSlowestAwaits(final int count) {
+        if (count <= 0) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        this.slowestAwaits = count;
+        return this;
+    }
+
+    @Override
+    public Statement apply(final Statement base, final Description description) {
+        if (description.getMethodName() != null) {
+            return new Statement() {
+                @Override
+                public void evaluate() throws Throwable {
+                    final AwaitProfiler.Session session = AwaitProfiler.begin(description.getMethodName(), budgetNanos);
+                    try {
+                        base.evaluate();
+                    } finally {
+                        AwaitProfiler.end();
+                        synchronized (awaits) {
+                            awaits.addAll(session.getAwaits());
+                        }
+                    }
+                }
+            };
+        }
+        return new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                try {
+                    base.evaluate();
+                } catch (Throwable failure) {
+                    // The suite's own failure matters more than a report which could not be written.
+                    try {
+                        writeReport(description.getClassName());
+                    } catch (IOException e) {
+                        System.err.println("Could not write the await report of " + description.getClassName()
+                                + ": " + e.getMessage());
+                    }
+                    throw failure;
+                }
+                writeReport(description.getClassName());
+            }
+        };
+    }
+
+    /**
+     * @param className the class name of the suite.
+     * @return the file to which the report of the suite is written.
+     */
+    public File getReportFile(final String className) {
+        return new File(reportDirectory, className + "-awaits.txt");
+    }
+
+    private void writeReport(final String className) throws IOException {
+        final List<AwaitProfiler.Await> sorted;
+        synchronized (awaits) {
+            sorted = new ArrayList<AwaitProfiler.Await>(awaits);
+            awaits.clear();
+        }
+        long totalNanos = 0;
+        for (AwaitProfiler.Await await : sorted) {
+            totalNanos += await.getNanos();
+        }
+        Collections.sort(sorted, new Comparator<AwaitProfiler.Await>() {
+            @Override
+            public int compare(final AwaitProfiler.Await lhs, final AwaitProfiler.Await rhs) {
+                return lhs.getNanos() < rhs.getNanos() ? 1 : lhs.getNanos() > rhs.getNanos() ? -1 : 0;
+            }
+        });
+
+        if (!reportDirectory.isDirectory() && !reportDirectory.mkdirs()) {
+            throw new IOException("Could not create report directory: " + reportDirectory);
+        }
+        final Writer writer = new OutputStreamWriter(new FileOutputStream(getReportFile(className)), "UTF-8");
+        try {
+            writer.write(String.format("Slowest awaits of %s: %s awaits, %s ms in total.%n",
+                    className, sorted.size(), TimeUnit.NANOSECONDS.toMillis(totalNanos)));
+            for (int i = 0; i < Math.min(slowestAwaits, sorted.size()); i++) {
+                final AwaitProfiler.Await await = sorted.get(i);
+                writer.write(String.format("%8s ms  %s  %s  at %s%n",
+                        TimeUnit.NANOSECONDS.toMillis(await.getNanos()), await.getTestName(),
+                        await.getDescription(), await.getCallSite()));
+            }
+        } finally {
+            writer.close();
+        }
+    }
+
+}
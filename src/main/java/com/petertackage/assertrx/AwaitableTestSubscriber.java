@@ -0,0 +1,185 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TestSubscriber} which can be awaited for a number of onNext values, or a value matching a predicate,
+ * rather than only a terminal event.
+ * <p>
+ * Waiting threads are woken directly from {@link #onNext(Object)}; there is no polling. When nobody is waiting, the
+ * only per-event cost is a single volatile read.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class AwaitableTestSubscriber<T> extends TestSubscriber<T> {
+
+    private final List<Waiter<T>> waiters = new CopyOnWriteArrayList<Waiter<T>>();
+    private volatile boolean terminated;
+
+    public AwaitableTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public AwaitableTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    @Override
+    public void onNext(final T value) {
+        super.onNext(value);
+        if (!waiters.isEmpty()) {
+            final int count = getValueCount();
+            for (Waiter<T> waiter : waiters) {
+                if (waiter.accept(value, count)) {
+                    waiters.remove(waiter);
+                }
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        try {
+            super.onError(e);
+        } finally {
+            releaseWaiters();
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        try {
+            super.onCompleted();
+        } finally {
+            releaseWaiters();
+        }
+    }
+
+    /**
+     * Blocks until at least <code>count</code> onNext values have been received, a terminal event is received, or
+     * the timeout elapses.
+     *
+     * @return true if <code>count</code> values were received.
+     */
+    public boolean awaitValues(final int count, final long timeout, final TimeUnit unit) {
+        if (getValueCount() >= count) {
+            return true;
+        }
+        final Waiter<T> waiter = new Waiter<T>() {
+            @Override
+            boolean matches(final T value, final int valueCount) {
+                return valueCount >= count;
+            }
+        };
+        waiters.add(waiter);
+        try {
+            if (getValueCount() >= count) {
+                return true;
+            }
+            waiter.await(terminated, timeout, unit);
+            return getValueCount() >= count;
+        } finally {
+            waiters.remove(waiter);
+        }
+    }
+
+    /**
+     * Blocks until an onNext value matching the predicate has been received, a terminal event is received, or the
+     * timeout elapses. Values received before this call are also considered.
+     *
+     * @return true if a matching value was received.
+     */
+    public boolean awaitValueMatching(final Func1<? super T, Boolean> predicate,
+                                      final long timeout,
+                                      final TimeUnit unit) {
+        final Waiter<T> waiter = new Waiter<T>() {
+            @Override
+            boolean matches(final T value, final int valueCount) {
+                return Boolean.TRUE.equals(predicate.call(value));
+            }
+        };
+        waiters.add(waiter);
+        try {
+            // Values which arrived before the waiter was registered are only checked here.
+            final int received = getValueCount();
+            final List<T> values = getOnNextEvents();
+            for (int i = 0; i < received; i++) {
+                if (Boolean.TRUE.equals(predicate.call(values.get(i)))) {
+                    return true;
+                }
+            }
+            return waiter.await(terminated, timeout, unit);
+        } finally {
+            waiters.remove(waiter);
+        }
+    }
+
+    private void releaseWaiters() {
+        terminated = true;
+        for (Waiter<T> waiter : waiters) {
+            waiter.release(false);
+        }
+        waiters.clear();
+    }
+
+    private abstract static class Waiter<T> {
+
+        private final CountDownLatch latch = new CountDownLatch(1);
+        private volatile boolean satisfied;
+
+        abstract boolean matches(T value, int valueCount);
+
+        boolean accept(final T value, final int valueCount) {
+            if (matches(value, valueCount)) {
+                release(true);
+                return true;
+            }
+            return false;
+        }
+
+        void release(final boolean satisfied) {
+            if (satisfied) {
+                this.satisfied = true;
+            }
+            latch.countDown();
+        }
+
+        boolean await(final boolean terminated, final long timeout, final TimeUnit unit) {
+            if (!satisfied && !terminated) {
+                try {
+                    latch.await(timeout, unit);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted", e);
+                }
+            }
+            return satisfied;
+        }
+    }
+
+}
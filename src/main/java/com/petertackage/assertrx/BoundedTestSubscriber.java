@@ -0,0 +1,132 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A {@link RecordingSubscriber} which retains only the most recent onNext values in a fixed size ring buffer.
+ * <p>
+ * Unlike {@link rx.observers.TestSubscriber}, memory use does not grow with the length of the stream, which makes it
+ * suitable for long running soak tests. The counts of onNext, onError and onCompleted events are still tracked for
+ * the entire stream.
+ * </p>
+ * <p>
+ * To assert on an instance, invoke <code>{@link Assertions#assertThat(BoundedTestSubscriber)}</code>.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class BoundedTestSubscriber<T> extends RecordingSubscriber<T> {
+
+    private final Object[] buffer;
+
+    /**
+     * Creates a subscriber which requests an unbounded number of values and retains the last <code>capacity</code>.
+     *
+     * @param capacity the maximum number of values to retain.
+     */
+    public BoundedTestSubscriber(final int capacity) {
+        this(capacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a subscriber which retains the last <code>capacity</code> values.
+     *
+     * @param capacity       the maximum number of values to retain.
+     * @param initialRequest the initial request amount.
+     */
+    public BoundedTestSubscriber(final int capacity, final long initialRequest) {
+        super(initialRequest);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.buffer = new Object[capacity];
+    }
+
+    @Override
+    protected void onRecord(final T value, final long index) {
+        buffer[(int) (index % buffer.length)] = value;
+    }
+
+    /**
+     * @return the maximum number of values retained.
+     */
+    public final int getCapacity() {
+        return buffer.length;
+    }
+
+    /**
+     * @return the number of values currently retained.
+     */
+    public final int getRetainedCount() {
+        return (int) Math.min(getValueCount(), buffer.length);
+    }
+
+    /**
+     * @return true if values have been discarded because the buffer capacity was exceeded.
+     */
+    public final boolean hasEvictedValues() {
+        return getValueCount() > buffer.length;
+    }
+
+    /**
+     * @return a copy of the retained values, oldest first.
+     */
+    public List<T> getRetainedValues() {
+        final long count = getValueCount();
+        final int retained = (int) Math.min(count, buffer.length);
+        final List<T> values = new ArrayList<T>(retained);
+        for (long index = count - retained; index < count; index++) {
+            values.add(valueAt(index));
+        }
+        return values;
+    }
+
+    /**
+     * Returns a retained value without copying the buffer.
+     *
+     * @param index the index among the retained values, oldest first.
+     * @return the retained value.
+     * @throws IndexOutOfBoundsException if the index is negative, or not less than {@link #getRetainedCount()}.
+     */
+    public T getRetainedValue(final int index) {
+        final int retained = getRetainedCount();
+        if (index < 0 || index >= retained) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", retained: " + retained);
+        }
+        return valueAt(getValueCount() - retained + index);
+    }
+
+    /**
+     * @return the most recent value.
+     * @throws IllegalStateException if no values have been received.
+     */
+    public T getLastValue() {
+        final long count = getValueCount();
+        if (count == 0) {
+            throw new IllegalStateException("No onNext values received.");
+        }
+        return valueAt(count - 1);
+    }
+
+    @SuppressWarnings("unchecked")
+    private T valueAt(final long index) {
+        return (T) buffer[(int) (index % buffer.length)];
+    }
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.AbstractListAssert;
+import org.assertj.core.api.AbstractObjectAssert;
+import org.assertj.core.util.Objects;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertion methods for {@link BoundedTestSubscriber}s.
+ * <p>
+ * Assertions which need values that have been evicted from the subscriber's buffer fail rather than checking only the
+ * retained values.
+ * </p>
+ * <p>
+ * To create an instance of this class, invoke <code>{@link Assertions#assertThat(BoundedTestSubscriber)}</code>.
+ * </p>
+ */
+public final class BoundedTestSubscriberAssert<T>
+        extends AbstractRecordingSubscriberAssert<BoundedTestSubscriberAssert<T>, BoundedTestSubscriber<T>> {
+
+    BoundedTestSubscriberAssert(final BoundedTestSubscriber<T> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Passes when the subscriber has received a single onNext event, equal to the provided value.
+     *
+     * @param value the expected value.
+     * @return this {@link BoundedTestSubscriberAssert}
+     */
+    public BoundedTestSubscriberAssert<T> hasReceivedValue(final T value) {
+        isNotNull();
+        hasValueCount(1);
+        final T lastValue = actual.getLastValue();
+        if (!Objects.areEqual(lastValue, value)) {
+            failWithMessage(Messages.format("Expected onNext event to be: <%s>, but was: <%s>.", value, lastValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly the provided values, in order.
+     * <p>
+     * Fails if any received value has been evicted from the buffer.
+     * </p>
+     *
+     * @param values the expected values.
+     * @return this {@link BoundedTestSubscriberAssert}
+     */
+    public BoundedTestSubscriberAssert<T> hasReceivedValues(final T... values) {
+        isNotNull();
+        hasFullHistory("all onNext values");
+        final List<T> retained = actual.getRetainedValues();
+        final List<T> expected = Arrays.asList(values);
+        if (!retained.equals(expected)) {
+            failWithMessage(Messages.format("Expected onNext events to be: <%s>, but was: <%s>.",
+                    Messages.values(expected), Messages.values(retained)));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's first received event is equal to the provided value.
+     * <p>
+     * Fails if the first value has been evicted from the buffer.
+     * </p>
+     *
+     * @param value the expected first received onNext value.
+     * @return this {@link BoundedTestSubscriberAssert}
+     */
+    public BoundedTestSubscriberAssert<T> hasReceivedFirstValue(final T value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        hasFullHistory("the first onNext value");
+        final T firstValue = actual.getRetainedValue(0);
+        if (!Objects.areEqual(firstValue, value)) {
+            failWithMessage(Messages.format("Expected first received onNext event to be: <%s>, but was: <%s>.", value, firstValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's last received event is equal to the provided value.
+     *
+     * @param value the expected last received onNext value.
+     * @return this {@link BoundedTestSubscriberAssert}
+     */
+    public BoundedTestSubscriberAssert<T> hasReceivedLastValue(final T value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final T lastValue = actual.getLastValue();
+        if (!Objects.areEqual(lastValue, value)) {
+            failWithMessage(Messages.format("Expected last received onNext event to be: <%s>, but was: <%s>.", value, lastValue));
+        }
+        return this;
+    }
+
+    /**
+     * Returns a {@link AbstractAssert} for higher order assertions on the first received onNext value.
+     * <p>
+     * Fails if the first value has been evicted from the buffer.
+     * </p>
+     */
+    public AbstractObjectAssert<?, T> hasReceivedFirstValueWhich() {
+        isNotNull();
+        hasReceivedAnyValues();
+        hasFullHistory("the first onNext value");
+        return assertThat(actual.getRetainedValue(0));
+    }
+
+    /**
+     * Returns a {@link AbstractAssert} for higher order assertions on the last received onNext value.
+     */
+    public AbstractObjectAssert<?, T> hasReceivedLastValueWhich() {
+        isNotNull();
+        hasReceivedAnyValues();
+        return assertThat(actual.getLastValue());
+    }
+
+    /**
+     * Returns an {@link AbstractListAssert} for higher order assertions on the retained onNext values, oldest first.
+     */
+    public AbstractListAssert<?, ? extends List<? extends T>, T> hasRetainedValuesWhich() {
+        isNotNull();
+        return assertThat(actual.getRetainedValues());
+    }
+
+    private void hasFullHistory(final String description) {
+        if (actual.hasEvictedValues()) {
+            failWithMessage(Messages.format("Cannot verify %s, only the last <%s> of <%s> received onNext values were retained.",
+                    description, actual.getCapacity(), actual.getValueCount()));
+        }
+    }
+
+}
@@ -0,0 +1,125 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.functions.Action0;
+import rx.observers.TestSubscriber;
+import rx.subscriptions.Subscriptions;
+
+/**
+ * A {@link TestSubscriber} which records when it was unsubscribed, using {@link System#nanoTime()}, and the events
+ * which still arrived afterwards.
+ * <p>
+ * Events received after unsubscribing are recorded as usual, as well as being counted, so that an upstream which
+ * keeps producing once nobody is listening can be caught by
+ * {@link TestSubscriberAssert#hasAtMostEventsAfterUnsubscribe(int)} and
+ * {@link TestSubscriberAssert#hasStoppedWithin(long, java.util.concurrent.TimeUnit)}.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class CancellationRecordingTestSubscriber<T> extends TestSubscriber<T> {
+
+    private static final long NOT_SET = -1;
+
+    private volatile long unsubscribedAt = NOT_SET;
+    private volatile long lastEventAfterUnsubscribeAt = NOT_SET;
+    private volatile int eventCountAfterUnsubscribe;
+
+    public CancellationRecordingTestSubscriber() {
+        super();
+        recordUnsubscribe();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public CancellationRecordingTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+        recordUnsubscribe();
+    }
+
+    @Override
+    public void onNext(final T value) {
+        recordEvent();
+        super.onNext(value);
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        recordEvent();
+        super.onError(e);
+    }
+
+    @Override
+    public void onCompleted() {
+        recordEvent();
+        super.onCompleted();
+    }
+
+    /**
+     * @return true if this subscriber has been unsubscribed.
+     */
+    public boolean hasUnsubscribed() {
+        return unsubscribedAt != NOT_SET;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which this subscriber was unsubscribed.
+     * @throws IllegalStateException if not yet unsubscribed.
+     */
+    public long getUnsubscribedAtNanos() {
+        final long time = unsubscribedAt;
+        if (time == NOT_SET) {
+            throw new IllegalStateException("Not unsubscribed.");
+        }
+        return time;
+    }
+
+    /**
+     * @return the number of events, onNext and terminal, received after unsubscribing.
+     */
+    public int getEventCountAfterUnsubscribe() {
+        return eventCountAfterUnsubscribe;
+    }
+
+    /**
+     * @return the time from unsubscribing to the last event received afterwards, in nanoseconds, or -1 if there
+     * has been none.
+     */
+    public long getLastEventAfterUnsubscribeNanos() {
+        final long time = lastEventAfterUnsubscribeAt;
+        return time == NOT_SET ? NOT_SET : time - unsubscribedAt;
+    }
+
+    private void recordUnsubscribe() {
+        // Subscriber#unsubscribe() is final; the time is taken by a Subscription it unsubscribes.
+        add(Subscriptions.create(new Action0() {
+            @Override
+            public void call() {
+                unsubscribedAt = System.nanoTime();
+            }
+        }));
+    }
+
+    private void recordEvent() {
+        if (unsubscribedAt != NOT_SET) {
+            eventCountAfterUnsubscribe++;
+            lastEventAfterUnsubscribeAt = System.nanoTime();
+        }
+    }
+
+}
@@ -0,0 +1,205 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.Scheduler;
+import rx.Subscription;
+import rx.functions.Action0;
+import rx.subscriptions.BooleanSubscription;
+import rx.subscriptions.Subscriptions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link Scheduler} which runs the actions of all its workers, one at a time, on the thread calling
+ * {@link #runUntilIdle(int)}, in an order chosen by a seeded random number generator.
+ * <p>
+ * At each step, one of the workers with an action due is picked at random, and its next action run. The actions of a
+ * worker always run in the order they are due, as the {@link Scheduler.Worker} contract requires, but the actions of
+ * different workers interleave differently for every seed, and identically for the same seed. Time is virtual: when
+ * no action is due, the clock jumps to the next one.
+ * </p>
+ * <p>
+ * This class is not thread safe; it must only be used from the thread running it.
+ * </p>
+ */
+public final class DeterministicScheduler extends Scheduler {
+
+    private final long seed;
+    private final Random random;
+    private final List<DeterministicWorker> workers = new ArrayList<DeterministicWorker>();
+    private long nowNanos;
+    private long sequence;
+
+    /**
+     * @param seed the seed from which the order of actions is chosen.
+     */
+    public DeterministicScheduler(final long seed) {
+        this.seed = seed;
+        this.random = new Random(seed);
+    }
+
+    /**
+     * @return the seed from which the order of actions is chosen.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public long now() {
+        return TimeUnit.NANOSECONDS.toMillis(nowNanos);
+    }
+
+    @Override
+    public Worker createWorker() {
+        final DeterministicWorker worker = new DeterministicWorker();
+        workers.add(worker);
+        return worker;
+    }
+
+    /**
+     * Runs actions until none remain, advancing virtual time as needed, or <code>maxActions</code> have been run.
+     *
+     * @param maxActions the maximum number of actions to run.
+     * @return true if no actions remain.
+     */
+    public boolean runUntilIdle(final int maxActions) {
+        final List<DeterministicWorker> ready = new ArrayList<DeterministicWorker>();
+        int actions = 0;
+        while (true) {
+            ready.clear();
+            long nextDueNanos = Long.MAX_VALUE;
+            for (int i = 0; i < workers.size(); i++) {
+                final ScheduledAction head = workers.get(i).peek();
+                if (head != null) {
+                    if (head.dueNanos <= nowNanos) {
+                        ready.add(workers.get(i));
+                    }
+                    nextDueNanos = Math.min(nextDueNanos, head.dueNanos);
+                }
+            }
+            if (nextDueNanos == Long.MAX_VALUE) {
+                return true;
+            }
+            if (ready.isEmpty()) {
+                nowNanos = nextDueNanos;
+                continue;
+            }
+            if (actions == maxActions) {
+                return false;
+            }
+            final ScheduledAction action = ready.get(random.nextInt(ready.size())).poll();
+            actions++;
+            action.run();
+        }
+    }
+
+    private final class DeterministicWorker extends Worker {
+
+        private final PriorityQueue<ScheduledAction> queue = new PriorityQueue<ScheduledAction>();
+        private final BooleanSubscription subscription = new BooleanSubscription();
+
+        @Override
+        public Subscription schedule(final Action0 action) {
+            return schedule(action, 0, TimeUnit.NANOSECONDS);
+        }
+
+        @Override
+        public Subscription schedule(final Action0 action, final long delayTime, final TimeUnit unit) {
+            if (isUnsubscribed()) {
+                return Subscriptions.unsubscribed();
+            }
+            final ScheduledAction scheduled = new ScheduledAction(action,
+                    nowNanos + Math.max(0, unit.toNanos(delayTime)), sequence++);
+            queue.add(scheduled);
+            return scheduled;
+        }
+
+        @Override
+        public long now() {
+            return DeterministicScheduler.this.now();
+        }
+
+        @Override
+        public void unsubscribe() {
+            subscription.unsubscribe();
+            queue.clear();
+            workers.remove(this);
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return subscription.isUnsubscribed();
+        }
+
+        ScheduledAction peek() {
+            ScheduledAction head = queue.peek();
+            while (head != null && head.isUnsubscribed()) {
+                queue.poll();
+                head = queue.peek();
+            }
+            return head;
+        }
+
+        ScheduledAction poll() {
+            return queue.poll();
+        }
+    }
+
+    private static final class ScheduledAction implements Subscription, Comparable<ScheduledAction> {
+
+        private final Action0 action;
+        private final long dueNanos;
+        private final long sequence;
+        private boolean unsubscribed;
+
+        ScheduledAction(final Action0 action, final long dueNanos, final long sequence) {
+            this.action = action;
+            this.dueNanos = dueNanos;
+            this.sequence = sequence;
+        }
+
+        void run() {
+            if (!unsubscribed) {
+                action.call();
+            }
+        }
+
+        @Override
+        public void unsubscribe() {
+            unsubscribed = true;
+        }
+
+        @Override
+        public boolean isUnsubscribed() {
+            return unsubscribed;
+        }
+
+        @Override
+        public int compareTo(final ScheduledAction other) {
+            if (dueNanos != other.dueNanos) {
+                return dueNanos < other.dueNanos ? -1 : 1;
+            }
+            return sequence < other.sequence ? -1 : sequence > other.sequence ? 1 : 0;
+        }
+    }
+
+}
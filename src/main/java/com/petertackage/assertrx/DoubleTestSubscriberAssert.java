@@ -0,0 +1,209 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.data.Offset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertion methods for {@link DoubleTestSubscriber}s.
+ * <p>
+ * Each assertion is a single pass over the recorded <code>double</code> values, without boxing.
+ * </p>
+ * <p>
+ * To create an instance of this class, invoke <code>{@link Assertions#assertThat(DoubleTestSubscriber)}</code>.
+ * </p>
+ */
+public final class DoubleTestSubscriberAssert
+        extends AbstractRecordingSubscriberAssert<DoubleTestSubscriberAssert, DoubleTestSubscriber> {
+
+    DoubleTestSubscriberAssert(final DoubleTestSubscriber actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Passes when the subscriber has received a single onNext event, equal to the provided value.
+     *
+     * @param value the expected value.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasReceivedValue(final double value) {
+        isNotNull();
+        hasValueCount(1);
+        final double actualValue = actual.getValue(0);
+        if (Double.compare(actualValue, value) != 0) {
+            failWithMessage(Messages.format("Expected onNext event to be: <%s>, but was: <%s>.", value, actualValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly the provided values, in order.
+     *
+     * @param values the expected values.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasReceivedValues(final double... values) {
+        isNotNull();
+        hasValueCount(values.length);
+        for (int i = 0; i < values.length; i++) {
+            final double actualValue = actual.getValue(i);
+            if (Double.compare(actualValue, values[i]) != 0) {
+                failWithMessage(Messages.format("Expected onNext event at index <%s> to be: <%s>, but was: <%s>.",
+                        i, values[i], actualValue));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's first received event is equal to the provided value.
+     *
+     * @param value the expected first received onNext value.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasReceivedFirstValue(final double value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final double firstValue = actual.getValue(0);
+        if (Double.compare(firstValue, value) != 0) {
+            failWithMessage(Messages.format("Expected first received onNext event to be: <%s>, but was: <%s>.",
+                    value, firstValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's last received event is equal to the provided value.
+     *
+     * @param value the expected last received onNext value.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasReceivedLastValue(final double value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final double lastValue = actual.getValue(actual.getValueCount() - 1);
+        if (Double.compare(lastValue, value) != 0) {
+            failWithMessage(Messages.format("Expected last received onNext event to be: <%s>, but was: <%s>.",
+                    value, lastValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the sum of the received values is within the provided offset of the expected value.
+     *
+     * @param sum    the expected sum.
+     * @param offset the tolerated difference from the expected sum.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasSum(final double sum, final Offset<Double> offset) {
+        isNotNull();
+        assertThat(offset).isNotNull();
+        final long count = actual.getValueCount();
+        double actualSum = 0;
+        for (long i = 0; i < count; i++) {
+            actualSum += actual.getValue(i);
+        }
+        if (Math.abs(actualSum - sum) > offset.value) {
+            failWithMessage(Messages.format("Expected sum of onNext events to be: <%s> within <%s>, but was: <%s>.",
+                    sum, offset.value, actualSum));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the smallest received value is equal to the provided value.
+     *
+     * @param min the expected minimum.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasMinValue(final double min) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final long count = actual.getValueCount();
+        double actualMin = Double.POSITIVE_INFINITY;
+        for (long i = 0; i < count; i++) {
+            actualMin = Math.min(actualMin, actual.getValue(i));
+        }
+        if (Double.compare(actualMin, min) != 0) {
+            failWithMessage(Messages.format("Expected minimum onNext event to be: <%s>, but was: <%s>.", min, actualMin));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the largest received value is equal to the provided value.
+     *
+     * @param max the expected maximum.
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasMaxValue(final double max) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final long count = actual.getValueCount();
+        double actualMax = Double.NEGATIVE_INFINITY;
+        for (long i = 0; i < count; i++) {
+            actualMax = Math.max(actualMax, actual.getValue(i));
+        }
+        if (Double.compare(actualMax, max) != 0) {
+            failWithMessage(Messages.format("Expected maximum onNext event to be: <%s>, but was: <%s>.", max, actualMax));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received value is greater than or equal to the value before it.
+     *
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasNonDecreasingValues() {
+        isNotNull();
+        final long count = actual.getValueCount();
+        for (long i = 1; i < count; i++) {
+            final double previous = actual.getValue(i - 1);
+            final double current = actual.getValue(i);
+            if (Double.compare(current, previous) < 0) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be non-decreasing, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received value is strictly greater than the value before it.
+     *
+     * @return this {@link DoubleTestSubscriberAssert}
+     */
+    public DoubleTestSubscriberAssert hasStrictlyIncreasingValues() {
+        isNotNull();
+        final long count = actual.getValueCount();
+        for (long i = 1; i < count; i++) {
+            final double previous = actual.getValue(i - 1);
+            final double current = actual.getValue(i);
+            if (Double.compare(current, previous) <= 0) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be strictly increasing, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+}
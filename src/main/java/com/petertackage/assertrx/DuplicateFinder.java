@@ -0,0 +1,399 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.util.Objects;
+import rx.functions.Func1;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Finds the first value in a list whose key repeats that of an earlier value, without boxing or copying the keys.
+ * <p>
+ * Object keys are tracked in an open-addressing table holding only each key's hash and the index of its value, in
+ * primitive arrays; keys with equal hashes are re-extracted from the values and compared. Long keys are tracked in an
+ * open-addressing table held off-heap, in a direct {@link ByteBuffer}.
+ * </p>
+ * <p>
+ * With the Bloom pre-filter, a first pass adds every key's hash to a Bloom filter, remembering only the hashes which
+ * may have been seen before. The second pass tracks only the keys with those hashes, so the exact table holds the
+ * duplicates and a small fraction of false positives rather than every key. The result is still exact.
+ * </p>
+ */
+final class DuplicateFinder {
+
+    /**
+     * The first index returned by {@link #firstDuplicateLongKey(List, Func1, boolean)} for a value with a null key.
+     */
+    static final int NULL_KEY = -1;
+
+    private static final int BLOOM_BITS_PER_KEY = 10;
+    private static final int BLOOM_HASHES = 7;
+
+    /**
+     * @param keyExtractor the key extractor, or null to use the values themselves as keys.
+     * @return the indexes of the first value and the later value with an equal key, or null if there are none.
+     */
+    static <T> int[] firstDuplicate(final List<T> values,
+                                    final Func1<? super T, ?> keyExtractor,
+                                    final boolean bloomPreFilter) {
+        final int size = values.size();
+        final LongSet candidates = bloomPreFilter ? candidateHashes(values, keyExtractor, size) : null;
+        final IndexTable table = new IndexTable(candidates != null ? candidates.size() : size);
+        for (int i = 0; i < size; i++) {
+            final Object key = keyOf(values.get(i), keyExtractor);
+            final int hash = hash(key);
+            if (candidates != null && !candidates.contains(hash)) {
+                continue;
+            }
+            final int previous = table.putIfAbsent(hash, i, key, values, keyExtractor);
+            if (previous >= 0) {
+                return new int[]{previous, i};
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the indexes of the first value and the later value with an equal key, {@link #NULL_KEY} and the index
+     * of the first value whose key is null, or null if there are none.
+     */
+    static <T> int[] firstDuplicateLongKey(final List<T> values,
+                                           final Func1<? super T, Long> keyExtractor,
+                                           final boolean bloomPreFilter) {
+        final int size = values.size();
+        LongSet candidates = null;
+        if (bloomPreFilter) {
+            final BloomFilter bloom = new BloomFilter(size);
+            candidates = new LongSet(16);
+            for (int i = 0; i < size; i++) {
+                final Long boxed = keyExtractor.call(values.get(i));
+                if (boxed == null) {
+                    return new int[]{NULL_KEY, i};
+                }
+                final long key = boxed;
+                if (bloom.add(mix(key))) {
+                    candidates.add(key);
+                }
+            }
+        }
+        final OffHeapLongTable table = new OffHeapLongTable(candidates != null ? candidates.size() : size);
+        for (int i = 0; i < size; i++) {
+            final Long boxed = keyExtractor.call(values.get(i));
+            if (boxed == null) {
+                return new int[]{NULL_KEY, i};
+            }
+            final long key = boxed;
+            if (candidates != null && !candidates.contains(key)) {
+                continue;
+            }
+            final int previous = table.putIfAbsent(key, i);
+            if (previous >= 0) {
+                return new int[]{previous, i};
+            }
+        }
+        return null;
+    }
+
+    private static <T> LongSet candidateHashes(final List<T> values,
+                                               final Func1<? super T, ?> keyExtractor,
+                                               final int size) {
+        final BloomFilter bloom = new BloomFilter(size);
+        final LongSet candidates = new LongSet(16);
+        for (int i = 0; i < size; i++) {
+            final int hash = hash(keyOf(values.get(i), keyExtractor));
+            if (bloom.add(mix(hash))) {
+                candidates.add(hash);
+            }
+        }
+        return candidates;
+    }
+
+    private static <T> Object keyOf(final T value, final Func1<? super T, ?> keyExtractor) {
+        return keyExtractor == null ? value : keyExtractor.call(value);
+    }
+
+    private static int hash(final Object key) {
+        int h = key == null ? 0 : key.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        return h ^ (h >>> 16);
+    }
+
+    private static long mix(final long key) {
+        long h = key;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        return h ^ (h >>> 33);
+    }
+
+    private static int capacityFor(final int expected) {
+        int capacity = 16;
+        while (capacity * 3L < expected * 4L && capacity < (1 << 30)) {
+            capacity <<= 1;
+        }
+        return capacity;
+    }
+
+    /**
+     * Maps key hashes to value indexes, resolving equal hashes by comparing re-extracted keys.
+     */
+    private static final class IndexTable {
+
+        private int[] hashes;
+        private int[] slots;
+        private int size;
+
+        IndexTable(final int expected) {
+            final int capacity = capacityFor(expected);
+            hashes = new int[capacity];
+            slots = new int[capacity];
+        }
+
+        /**
+         * @return the index of an earlier value with an equal key, or -1 after adding this one.
+         */
+        <T> int putIfAbsent(final int hash,
+                            final int index,
+                            final Object key,
+                            final List<T> values,
+                            final Func1<? super T, ?> keyExtractor) {
+            final int mask = slots.length - 1;
+            int slot = hash & mask;
+            while (slots[slot] != 0) {
+                final int other = slots[slot] - 1;
+                if (hashes[slot] == hash && Objects.areEqual(keyOf(values.get(other), keyExtractor), key)) {
+                    return other;
+                }
+                slot = (slot + 1) & mask;
+            }
+            hashes[slot] = hash;
+            slots[slot] = index + 1;
+            if (++size * 4L > slots.length * 3L) {
+                grow();
+            }
+            return -1;
+        }
+
+        private void grow() {
+            final int[] oldHashes = hashes;
+            final int[] oldSlots = slots;
+            hashes = new int[oldSlots.length * 2];
+            slots = new int[oldSlots.length * 2];
+            final int mask = slots.length - 1;
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] != 0) {
+                    int slot = oldHashes[i] & mask;
+                    while (slots[slot] != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    hashes[slot] = oldHashes[i];
+                    slots[slot] = oldSlots[i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Maps long keys to value indexes in a direct {@link ByteBuffer}, outside of the Java heap.
+     * <p>
+     * Each slot takes 12 bytes of direct memory, which is bounded by <code>-XX:MaxDirectMemorySize</code>. A buffer
+     * is indexed by int, so the table holds at most 2<sup>27</sup> slots, or about 100 million keys.
+     * </p>
+     */
+    private static final class OffHeapLongTable {
+
+        private static final int ENTRY_BYTES = 12;
+        private static final int MAX_CAPACITY = 1 << 27;
+
+        private ByteBuffer entries;
+        private int capacity;
+        private int size;
+
+        OffHeapLongTable(final int expected) {
+            capacity = capacityFor(expected);
+            if (capacity > MAX_CAPACITY) {
+                throw tooManyKeys(expected);
+            }
+            entries = allocate(capacity);
+        }
+
+        int putIfAbsent(final long key, final int index) {
+            final int mask = capacity - 1;
+            int slot = (int) mix(key) & mask;
+            int stored;
+            while ((stored = entries.getInt(offset(slot) + 8)) != 0) {
+                if (entries.getLong(offset(slot)) == key) {
+                    return stored - 1;
+                }
+                slot = (slot + 1) & mask;
+            }
+            entries.putLong(offset(slot), key);
+            entries.putInt(offset(slot) + 8, index + 1);
+            if (++size * 4L > capacity * 3L) {
+                grow();
+            }
+            return -1;
+        }
+
+        private void grow() {
+            if (capacity == MAX_CAPACITY) {
+                throw tooManyKeys(size + 1);
+            }
+            final ByteBuffer old = entries;
+            final int oldCapacity = capacity;
+            capacity *= 2;
+            entries = allocate(capacity);
+            final int mask = capacity - 1;
+            for (int i = 0; i < oldCapacity; i++) {
+                final int stored = old.getInt(offset(i) + 8);
+                if (stored != 0) {
+                    final long key = old.getLong(offset(i));
+                    int slot = (int) mix(key) & mask;
+                    while (entries.getInt(offset(slot) + 8) != 0) {
+                        slot = (slot + 1) & mask;
+                    }
+                    entries.putLong(offset(slot), key);
+                    entries.putInt(offset(slot) + 8, stored);
+                }
+            }
+        }
+
+        private static ByteBuffer allocate(final int capacity) {
+            return ByteBuffer.allocateDirect((int) ((long) capacity * ENTRY_BYTES));
+        }
+
+        private static int offset(final int slot) {
+            return (int) ((long) slot * ENTRY_BYTES);
+        }
+
+        private static IllegalStateException tooManyKeys(final int keys) {
+            return new IllegalStateException(String.format(
+                    "Too many long keys to track off-heap: %s; at most %s are supported.",
+                    keys, MAX_CAPACITY / 4 * 3));
+        }
+    }
+
+    /**
+     * A set of longs in a primitive open-addressing array; zero is tracked separately as the empty marker.
+     */
+    private static final class LongSet {
+
+        private long[] keys;
+        private boolean containsZero;
+        private int size;
+
+        LongSet(final int expected) {
+            keys = new long[capacityFor(expected)];
+        }
+
+        int size() {
+            return size;
+        }
+
+        void add(final long key) {
+            if (key == 0) {
+                if (!containsZero) {
+                    containsZero = true;
+                    size++;
+                }
+                return;
+            }
+            if (insert(keys, key)) {
+                if (++size * 4L > keys.length * 3L) {
+                    final long[] grown = new long[keys.length * 2];
+                    for (long existing : keys) {
+                        if (existing != 0) {
+                            insert(grown, existing);
+                        }
+                    }
+                    keys = grown;
+                }
+            }
+        }
+
+        boolean contains(final long key) {
+            if (key == 0) {
+                return containsZero;
+            }
+            final int mask = keys.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (keys[slot] != 0) {
+                if (keys[slot] == key) {
+                    return true;
+                }
+                slot = (slot + 1) & mask;
+            }
+            return false;
+        }
+
+        private static boolean insert(final long[] table, final long key) {
+            final int mask = table.length - 1;
+            int slot = (int) mix(key) & mask;
+            while (table[slot] != 0) {
+                if (table[slot] == key) {
+                    return false;
+                }
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = key;
+            return true;
+        }
+    }
+
+    /**
+     * A Bloom filter over 64-bit hashes, using double hashing to derive its bit positions.
+     */
+    private static final class BloomFilter {
+
+        private final long[] bits;
+        private final long bitCount;
+
+        BloomFilter(final int expected) {
+            final long wanted = Math.max(64, (long) expected * BLOOM_BITS_PER_KEY);
+            bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (wanted + 63) / 64)];
+            bitCount = (long) bits.length * 64;
+        }
+
+        /**
+         * @return true if the hash may have been added before.
+         */
+        boolean add(final long hash) {
+            final int h1 = (int) hash;
+            final int h2 = (int) (hash >>> 32);
+            boolean present = true;
+            for (int i = 0; i < BLOOM_HASHES; i++) {
+                final long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+                final int word = (int) (bit >>> 6);
+                final long mask = 1L << bit;
+                if ((bits[word] & mask) == 0) {
+                    present = false;
+                    bits[word] |= mask;
+                }
+            }
+            return present;
+        }
+    }
+
+    private DuplicateFinder() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.util.Objects;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A {@link TestSubscriber} which checks expectations as each event arrives, rather than after the fact.
+ * <p>
+ * Expectations are registered before subscribing. At the first event which does not meet them, the subscriber records
+ * the failure, unsubscribes from upstream and releases any thread waiting for a terminal event. The failure is then
+ * reported by {@link TestSubscriberAssert#hasMetExpectations()}, or by any of the
+ * {@link TestSubscriberAssert}<code>.afterTerminalEvent</code> methods.
+ * </p>
+ * <pre>
+ *     ExpectingTestSubscriber&lt;Integer&gt; ts = new ExpectingTestSubscriber&lt;Integer&gt;()
+ *             .expectValuesStartingWith(1, 2, 3)
+ *             .expectNoErrors();
+ *     infiniteObservable.subscribe(ts);
+ *
+ *     assertThat(ts).afterTerminalEvent(); // fails as soon as a bad event arrives
+ * </pre>
+ *
+ * @param <T> the value type.
+ */
+public class ExpectingTestSubscriber<T> extends TestSubscriber<T> {
+
+    private final List<Func1<? super T, Boolean>> valuePredicates = new ArrayList<Func1<? super T, Boolean>>();
+    private final CountDownLatch terminated = new CountDownLatch(1);
+    private List<T> expectedPrefix = new ArrayList<T>();
+    private int maxValueCount = Integer.MAX_VALUE;
+    private boolean noErrors;
+    private int index;
+    private volatile AssertionError failure;
+
+    public ExpectingTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public ExpectingTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    /**
+     * Expects every onNext value to satisfy the provided predicate.
+     *
+     * @param predicate the predicate, returning true for acceptable values.
+     * @return this {@link ExpectingTestSubscriber}
+     */
+    public ExpectingTestSubscriber<T> expectEachValue(final Func1<? super T, Boolean> predicate) {
+        checkNotStarted();
+        if (predicate == null) {
+            throw new NullPointerException("predicate");
+        }
+        valuePredicates.add(predicate);
+        return this;
+    }
+
+    /**
+     * Expects the onNext values to start with the provided values, in order.
+     *
+     * @param values the expected leading values.
+     * @return this {@link ExpectingTestSubscriber}
+     */
+    public ExpectingTestSubscriber<T> expectValuesStartingWith(final T... values) {
+        checkNotStarted();
+        expectedPrefix = new ArrayList<T>(Arrays.asList(values));
+        return this;
+    }
+
+    /**
+     * Expects no more than <code>count</code> onNext values.
+     *
+     * @param count the maximum number of onNext values.
+     * @return this {@link ExpectingTestSubscriber}
+     */
+    public ExpectingTestSubscriber<T> expectAtMostValues(final int count) {
+        checkNotStarted();
+        if (count < 0) {
+            throw new IllegalArgumentException("count must not be negative: " + count);
+        }
+        maxValueCount = count;
+        return this;
+    }
+
+    /**
+     * Expects no onError event.
+     *
+     * @return this {@link ExpectingTestSubscriber}
+     */
+    public ExpectingTestSubscriber<T> expectNoErrors() {
+        checkNotStarted();
+        noErrors = true;
+        return this;
+    }
+
+    @Override
+    public void onNext(final T value) {
+        if (failure != null) {
+            return;
+        }
+        final int i = index++;
+        super.onNext(value);
+        if (i >= maxValueCount) {
+            fail(String.format("Expected at most <%s> onNext events, but received another: <%s>.", maxValueCount, value));
+            return;
+        }
+        if (i < expectedPrefix.size() && !Objects.areEqual(expectedPrefix.get(i), value)) {
+            fail(String.format("Expected onNext event at index <%s> to be: <%s>, but was: <%s>.",
+                    i, expectedPrefix.get(i), value));
+            return;
+        }
+        for (Func1<? super T, Boolean> predicate : valuePredicates) {
+            if (!Boolean.TRUE.equals(predicate.call(value))) {
+                fail(String.format("Expected onNext event at index <%s> to satisfy the expectation, but was: <%s>.",
+                        i, value));
+                return;
+            }
+        }
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        if (failure != null) {
+            return;
+        }
+        try {
+            super.onError(e);
+            if (noErrors) {
+                fail(String.format("Expected no onError events, but received: <%s>.", e));
+            }
+        } finally {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        if (failure != null) {
+            return;
+        }
+        try {
+            super.onCompleted();
+            if (index < expectedPrefix.size()) {
+                fail(String.format("Expected onNext events to start with: <%s>, but completed after: <%s>.",
+                        Messages.values(expectedPrefix), Messages.values(getOnNextEvents())));
+            }
+        } finally {
+            terminated.countDown();
+        }
+    }
+
+    @Override
+    public void awaitTerminalEvent() {
+        try {
+            terminated.await();
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    @Override
+    public void awaitTerminalEvent(final long timeout, final TimeUnit unit) {
+        try {
+            terminated.await(timeout, unit);
+        } catch (InterruptedException e) {
+            throw new IllegalStateException("Interrupted", e);
+        }
+    }
+
+    @Override
+    public void awaitTerminalEventAndUnsubscribeOnTimeout(final long timeout, final TimeUnit unit) {
+        try {
+            if (!terminated.await(timeout, unit)) {
+                unsubscribe();
+            }
+        } catch (InterruptedException e) {
+            unsubscribe();
+        }
+    }
+
+    /**
+     * @return the failure recorded at the first event which did not meet the expectations, or null if there has
+     * been none.
+     */
+    public AssertionError getExpectationFailure() {
+        return failure;
+    }
+
+    private void fail(final String message) {
+        failure = new AssertionError(message);
+        unsubscribe();
+        terminated.countDown();
+    }
+
+    private void checkNotStarted() {
+        if (index > 0 || getCompletions() > 0 || !getOnErrorEvents().isEmpty()) {
+            throw new IllegalStateException("Expectations must be registered before any events are received.");
+        }
+    }
+
+}
@@ -0,0 +1,202 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+/**
+ * Assertion methods for {@link IntTestSubscriber}s.
+ * <p>
+ * Each assertion is a single pass over the recorded <code>int</code> values, without boxing.
+ * </p>
+ * <p>
+ * To create an instance of this class, invoke <code>{@link Assertions#assertThat(IntTestSubscriber)}</code>.
+ * </p>
+ */
+public final class IntTestSubscriberAssert
+        extends AbstractRecordingSubscriberAssert<IntTestSubscriberAssert, IntTestSubscriber> {
+
+    IntTestSubscriberAssert(final IntTestSubscriber actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Passes when the subscriber has received a single onNext event, equal to the provided value.
+     *
+     * @param value the expected value.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasReceivedValue(final int value) {
+        isNotNull();
+        hasValueCount(1);
+        final int actualValue = actual.getValue(0);
+        if (actualValue != value) {
+            failWithMessage(Messages.format("Expected onNext event to be: <%s>, but was: <%s>.", value, actualValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly the provided values, in order.
+     *
+     * @param values the expected values.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasReceivedValues(final int... values) {
+        isNotNull();
+        hasValueCount(values.length);
+        for (int i = 0; i < values.length; i++) {
+            final int actualValue = actual.getValue(i);
+            if (actualValue != values[i]) {
+                failWithMessage(Messages.format("Expected onNext event at index <%s> to be: <%s>, but was: <%s>.",
+                        i, values[i], actualValue));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's first received event is equal to the provided value.
+     *
+     * @param value the expected first received onNext value.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasReceivedFirstValue(final int value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final int firstValue = actual.getValue(0);
+        if (firstValue != value) {
+            failWithMessage(Messages.format("Expected first received onNext event to be: <%s>, but was: <%s>.",
+                    value, firstValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's last received event is equal to the provided value.
+     *
+     * @param value the expected last received onNext value.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasReceivedLastValue(final int value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final int lastValue = actual.getValue(actual.getValueCount() - 1);
+        if (lastValue != value) {
+            failWithMessage(Messages.format("Expected last received onNext event to be: <%s>, but was: <%s>.",
+                    value, lastValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the sum of the received values, accumulated as a <code>long</code>, is equal to the provided value.
+     *
+     * @param sum the expected sum.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasSum(final long sum) {
+        isNotNull();
+        final long count = actual.getValueCount();
+        long actualSum = 0;
+        for (long i = 0; i < count; i++) {
+            actualSum += actual.getValue(i);
+        }
+        if (actualSum != sum) {
+            failWithMessage(Messages.format("Expected sum of onNext events to be: <%s>, but was: <%s>.", sum, actualSum));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the smallest received value is equal to the provided value.
+     *
+     * @param min the expected minimum.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasMinValue(final int min) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final long count = actual.getValueCount();
+        int actualMin = Integer.MAX_VALUE;
+        for (long i = 0; i < count; i++) {
+            actualMin = Math.min(actualMin, actual.getValue(i));
+        }
+        if (actualMin != min) {
+            failWithMessage(Messages.format("Expected minimum onNext event to be: <%s>, but was: <%s>.", min, actualMin));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the largest received value is equal to the provided value.
+     *
+     * @param max the expected maximum.
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasMaxValue(final int max) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final long count = actual.getValueCount();
+        int actualMax = Integer.MIN_VALUE;
+        for (long i = 0; i < count; i++) {
+            actualMax = Math.max(actualMax, actual.getValue(i));
+        }
+        if (actualMax != max) {
+            failWithMessage(Messages.format("Expected maximum onNext event to be: <%s>, but was: <%s>.", max, actualMax));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received value is greater than or equal to the value before it.
+     *
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasNonDecreasingValues() {
+        isNotNull();
+        final long count = actual.getValueCount();
+        for (long i = 1; i < count; i++) {
+            final int previous = actual.getValue(i - 1);
+            final int current = actual.getValue(i);
+            if (current < previous) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be non-decreasing, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received value is strictly greater than the value before it.
+     *
+     * @return this {@link IntTestSubscriberAssert}
+     */
+    public IntTestSubscriberAssert hasStrictlyIncreasingValues() {
+        isNotNull();
+        final long count = actual.getValueCount();
+        for (long i = 1; i < count; i++) {
+            final int previous = actual.getValue(i - 1);
+            final int current = actual.getValue(i);
+            if (current <= previous) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be strictly increasing, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+}
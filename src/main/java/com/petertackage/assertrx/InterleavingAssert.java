@@ -0,0 +1,300 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import rx.Observable;
+import rx.Scheduler;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+import rx.plugins.RxJavaHooks;
+
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on every explored interleaving of the actions an {@link Observable} schedules on the computation, io and
+ * newThread {@link rx.schedulers.Schedulers}.
+ * <p>
+ * Each exploration subscribes a new {@link TestSubscriber}, or one from the factory set with
+ * {@link #withSubscribers(Func0)}, to a fresh {@link Observable} from the factory, with those
+ * schedulers replaced, through {@link RxJavaHooks}, by a {@link DeterministicScheduler} with its own seed. Its actions
+ * are run until none remain, in virtual time, and then the chain of {@link TestSubscriberAssert} checks is run.
+ * Explorations run in parallel, each confined to a single thread, so the order of actions, and therefore the
+ * outcome, depends only on the seed. A failure reports the seed, which {@link #withSeed(long)} replays.
+ * </p>
+ * <p>
+ * Pipelines which block waiting for another scheduler, such as with {@link Observable#toBlocking()}, deadlock, as do
+ * schedulers created with {@link rx.schedulers.Schedulers#from(java.util.concurrent.Executor)}, which are not
+ * replaced.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public final class InterleavingAssert<T> extends AbstractAssert<InterleavingAssert<T>, Func0<? extends Observable<T>>> {
+
+    private static final int DEFAULT_SCHEDULES = 1000;
+    private static final int DEFAULT_MAX_ACTIONS = 100000;
+    private static final long SEED_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final ThreadLocal<DeterministicScheduler> CURRENT = new ThreadLocal<DeterministicScheduler>();
+    private static final Object HOOKS_LOCK = new Object();
+    private static int hookUsers;
+    private static Func1<Scheduler, Scheduler> previousOnComputation;
+    private static Func1<Scheduler, Scheduler> previousOnIo;
+    private static Func1<Scheduler, Scheduler> previousOnNewThread;
+
+    private int schedules = DEFAULT_SCHEDULES;
+    private int workers = Runtime.getRuntime().availableProcessors();
+    private int maxActions = DEFAULT_MAX_ACTIONS;
+    private long baseSeed = new Random().nextLong();
+    private boolean replay;
+    private Func0<? extends TestSubscriber<T>> subscribers;
+    private Action1<? super TestSubscriberAssert<T>> checks = new Action1<TestSubscriberAssert<T>>() {
+        @Override
+        public void call(final TestSubscriberAssert<T> ts) {
+            ts.hasNoErrors().hasCompleted();
+        }
+    };
+
+    InterleavingAssert(final Func0<? extends Observable<T>> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Sets the number of interleavings to explore, each with a different seed. Defaults to 1000.
+     *
+     * @param schedules the number of interleavings.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> withSchedules(final int schedules) {
+        assertThat(schedules).isPositive();
+        this.schedules = schedules;
+        return this;
+    }
+
+    /**
+     * Explores only the interleaving with the given seed, as reported by a failure, to replay it.
+     *
+     * @param seed the seed.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> withSeed(final long seed) {
+        baseSeed = seed;
+        replay = true;
+        return this;
+    }
+
+    /**
+     * Sets the number of threads exploring interleavings in parallel. Defaults to the number of available
+     * processors.
+     *
+     * @param workers the number of threads.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> withWorkers(final int workers) {
+        assertThat(workers).isPositive();
+        this.workers = workers;
+        return this;
+    }
+
+    /**
+     * Sets the number of scheduled actions after which an interleaving which has not settled fails. Defaults to
+     * 100000.
+     *
+     * @param maxActions the maximum number of actions per interleaving.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> withMaxActions(final int maxActions) {
+        assertThat(maxActions).isPositive();
+        this.maxActions = maxActions;
+        return this;
+    }
+
+    /**
+     * Sets the factory of the {@link TestSubscriber} subscribed in each interleaving, such as a
+     * {@link SerializationCheckingTestSubscriber}, so that checks specific to it can be run. Defaults to a plain
+     * {@link TestSubscriber}.
+     *
+     * @param subscribers the factory of a new {@link TestSubscriber} for each interleaving.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> withSubscribers(final Func0<? extends TestSubscriber<T>> subscribers) {
+        assertThat(subscribers).isNotNull();
+        this.subscribers = subscribers;
+        return this;
+    }
+
+    /**
+     * Sets the checks run against each interleaving's {@link TestSubscriber}, once its scheduled actions have
+     * settled. Defaults to {@link TestSubscriberAssert#hasNoErrors()} and {@link TestSubscriberAssert#hasCompleted()},
+     * so an interleaving which settles without terminating fails.
+     *
+     * @param checks the chain of {@link TestSubscriberAssert} checks.
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> checking(final Action1<? super TestSubscriberAssert<T>> checks) {
+        assertThat(checks).isNotNull();
+        this.checks = checks;
+        return this;
+    }
+
+    /**
+     * Passes when every explored interleaving satisfied the checks. On failure, the seed of the first failing
+     * interleaving is reported.
+     *
+     * @return this {@link InterleavingAssert}
+     */
+    public InterleavingAssert<T> neverFails() {
+        isNotNull();
+        final int count = replay ? 1 : schedules;
+        final AtomicReferenceArray<String> failures = explore(count);
+        int failed = 0;
+        int first = -1;
+        for (int i = 0; i < count; i++) {
+            if (failures.get(i) != null) {
+                failed++;
+                if (first < 0) {
+                    first = i;
+                }
+            }
+        }
+        if (failed > 0) {
+            failWithMessage(Messages.format(
+                    "Expected all <%s> interleavings to pass, but <%s> failed. First, with seed <%s>: %s",
+                    count, failed, seedOf(first), failures.get(first)));
+        }
+        return this;
+    }
+
+    private AtomicReferenceArray<String> explore(final int count) {
+        final AtomicReferenceArray<String> failures = new AtomicReferenceArray<String>(count);
+        final int threads = Math.min(workers, count);
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(threads);
+        installHooks();
+        try {
+            for (int w = 0; w < threads; w++) {
+                final Thread thread = new Thread(AwaitProfiler.propagating(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            int index;
+                            while ((index = next.getAndIncrement()) < count) {
+                                failures.set(index, explore(seedOf(index)));
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }), "assert-rx-interleaving-" + (w + 1));
+                thread.setDaemon(true);
+                thread.start();
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } finally {
+            uninstallHooks();
+        }
+        return failures;
+    }
+
+    private String explore(final long seed) {
+        final DeterministicScheduler scheduler = new DeterministicScheduler(seed);
+        CURRENT.set(scheduler);
+        try {
+            final TestSubscriber<T> subscriber = subscribers == null ? new TestSubscriber<T>() : subscribers.call();
+            actual.call().subscribe(subscriber);
+            if (!scheduler.runUntilIdle(maxActions)) {
+                subscriber.unsubscribe();
+                return String.format("Expected the scheduled actions to settle within <%s> actions, but they did not.",
+                        maxActions);
+            }
+            checks.call(new TestSubscriberAssert<T>(subscriber, TestSubscriberAssert.class));
+            return null;
+        } catch (AssertionError e) {
+            return String.valueOf(e.getMessage()).trim();
+        } catch (Throwable e) {
+            return e.toString();
+        } finally {
+            CURRENT.remove();
+        }
+    }
+
+    private long seedOf(final int index) {
+        return replay ? baseSeed : baseSeed + index * SEED_GAMMA;
+    }
+
+    private static void installHooks() {
+        synchronized (HOOKS_LOCK) {
+            if (hookUsers > 0) {
+                hookUsers++;
+                return;
+            }
+            if (RxJavaHooks.isLockdown()) {
+                throw new IllegalStateException("RxJavaHooks are locked down; schedulers cannot be replaced.");
+            }
+            hookUsers++;
+            previousOnComputation = RxJavaHooks.getOnComputationScheduler();
+            previousOnIo = RxJavaHooks.getOnIOScheduler();
+            previousOnNewThread = RxJavaHooks.getOnNewThreadScheduler();
+            RxJavaHooks.setOnComputationScheduler(new CurrentSchedulerHook(previousOnComputation));
+            RxJavaHooks.setOnIOScheduler(new CurrentSchedulerHook(previousOnIo));
+            RxJavaHooks.setOnNewThreadScheduler(new CurrentSchedulerHook(previousOnNewThread));
+        }
+    }
+
+    private static void uninstallHooks() {
+        synchronized (HOOKS_LOCK) {
+            if (--hookUsers > 0) {
+                return;
+            }
+            RxJavaHooks.setOnComputationScheduler(previousOnComputation);
+            RxJavaHooks.setOnIOScheduler(previousOnIo);
+            RxJavaHooks.setOnNewThreadScheduler(previousOnNewThread);
+        }
+    }
+
+    /**
+     * Replaces the scheduler with the exploring thread's {@link DeterministicScheduler}, if any.
+     */
+    private static final class CurrentSchedulerHook implements Func1<Scheduler, Scheduler> {
+
+        private final Func1<Scheduler, Scheduler> previous;
+
+        CurrentSchedulerHook(final Func1<Scheduler, Scheduler> previous) {
+            this.previous = previous;
+        }
+
+        @Override
+        public Scheduler call(final Scheduler scheduler) {
+            final DeterministicScheduler current = CURRENT.get();
+            if (current != null) {
+                return current;
+            }
+            return previous != null ? previous.call(scheduler) : scheduler;
+        }
+    }
+
+}
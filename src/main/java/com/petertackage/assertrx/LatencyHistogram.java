@@ -0,0 +1,128 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+/**
+ * A fixed size histogram of nanosecond latencies, in the style of HdrHistogram.
+ * <p>
+ * Values are counted in log-linear buckets: exact below 256ns, then 128 linear sub-buckets per power of two. This
+ * bounds the relative error of any reported value to under 1%, while the memory used is the same for one recorded
+ * value as for billions.
+ * </p>
+ */
+public final class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 8;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF_COUNT = SUB_BUCKET_COUNT / 2;
+    private static final int MAX_SHIFT = 63 - SUB_BUCKET_BITS;
+
+    private final long[] counts = new long[indexOf(Long.MAX_VALUE) + 1];
+    private long totalCount;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    LatencyHistogram() {
+    }
+
+    void record(final long nanos) {
+        final long value = Math.max(0, nanos);
+        counts[indexOf(value)]++;
+        totalCount++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * @return the number of recorded values.
+     */
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    /**
+     * @return the smallest recorded value in nanoseconds, exactly.
+     * @throws IllegalStateException if no values have been recorded.
+     */
+    public long getMin() {
+        checkNotEmpty();
+        return min;
+    }
+
+    /**
+     * @return the largest recorded value in nanoseconds, exactly.
+     * @throws IllegalStateException if no values have been recorded.
+     */
+    public long getMax() {
+        checkNotEmpty();
+        return max;
+    }
+
+    /**
+     * Returns the value at or below which the given percentage of recorded values fall.
+     * <p>
+     * The result is the highest value equivalent to the bucket containing the percentile, capped at the exact
+     * recorded maximum, so it never under-reports a latency.
+     * </p>
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @return the value in nanoseconds.
+     * @throws IllegalStateException if no values have been recorded.
+     */
+    public long getValueAtPercentile(final double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100: " + percentile);
+        }
+        checkNotEmpty();
+        final long target = Math.max(1, (long) Math.ceil(percentile / 100 * totalCount));
+        long cumulative = 0;
+        for (int i = 0; i < counts.length; i++) {
+            cumulative += counts[i];
+            if (cumulative >= target) {
+                return Math.min(highestEquivalentValue(i), max);
+            }
+        }
+        return max;
+    }
+
+    private void checkNotEmpty() {
+        if (totalCount == 0) {
+            throw new IllegalStateException("No values recorded.");
+        }
+    }
+
+    static int indexOf(final long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        final int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS + 1;
+        final int subBucket = (int) (value >>> shift);
+        return SUB_BUCKET_COUNT + (shift - 1) * SUB_BUCKET_HALF_COUNT + (subBucket - SUB_BUCKET_HALF_COUNT);
+    }
+
+    static long highestEquivalentValue(final int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        final int shift = (index - SUB_BUCKET_COUNT) / SUB_BUCKET_HALF_COUNT + 1;
+        final long subBucket = (index - SUB_BUCKET_COUNT) % SUB_BUCKET_HALF_COUNT + SUB_BUCKET_HALF_COUNT;
+        if (shift >= MAX_SHIFT && subBucket == SUB_BUCKET_COUNT - 1) {
+            return Long.MAX_VALUE;
+        }
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+}
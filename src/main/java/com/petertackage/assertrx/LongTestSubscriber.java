@@ -0,0 +1,95 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.util.Arrays;
+
+import static com.petertackage.assertrx.PrimitiveChunks.CHUNK_SIZE;
+import static com.petertackage.assertrx.PrimitiveChunks.INITIAL_CHUNKS;
+import static com.petertackage.assertrx.PrimitiveChunks.checkIndex;
+import static com.petertackage.assertrx.PrimitiveChunks.chunkOf;
+import static com.petertackage.assertrx.PrimitiveChunks.grownLength;
+import static com.petertackage.assertrx.PrimitiveChunks.offsetOf;
+
+/**
+ * A {@link RecordingSubscriber} which unboxes each received {@link Long} and stores it in growable
+ * <code>long[]</code> chunks, rather than retaining the boxed values as {@link rx.observers.TestSubscriber} does.
+ * <p>
+ * Null values are not supported; unboxing one fails and is reported upstream as an error.
+ * </p>
+ * <p>
+ * To assert on an instance, invoke <code>{@link Assertions#assertThat(LongTestSubscriber)}</code>.
+ * </p>
+ */
+public class LongTestSubscriber extends RecordingSubscriber<Long> {
+
+    private long[][] chunks = new long[INITIAL_CHUNKS][];
+
+    /**
+     * Creates a subscriber which requests an unbounded number of values.
+     */
+    public LongTestSubscriber() {
+        super();
+    }
+
+    /**
+     * Creates a subscriber which requests <code>initialRequest</code> values when it starts.
+     *
+     * @param initialRequest the initial request amount.
+     */
+    public LongTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    @Override
+    protected void onRecord(final Long value, final long index) {
+        final int chunk = chunkOf(index);
+        if (chunk >= chunks.length) {
+            chunks = Arrays.copyOf(chunks, grownLength(chunks.length, chunk));
+        }
+        if (chunks[chunk] == null) {
+            chunks[chunk] = new long[CHUNK_SIZE];
+        }
+        chunks[chunk][offsetOf(index)] = value;
+    }
+
+    /**
+     * @param index the zero-based position of the value in the stream.
+     * @return the received value at <code>index</code>.
+     */
+    public long getValue(final long index) {
+        checkIndex(index, getValueCount());
+        return chunks[chunkOf(index)][offsetOf(index)];
+    }
+
+    /**
+     * @return a copy of all received values.
+     */
+    public long[] getValues() {
+        final long count = getValueCount();
+        if (count > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Too many values to copy into an array: " + count);
+        }
+        final long[] values = new long[(int) count];
+        for (int copied = 0, chunk = 0; copied < count; chunk++) {
+            final int length = (int) Math.min(CHUNK_SIZE, count - copied);
+            System.arraycopy(chunks[chunk], 0, values, copied, length);
+            copied += length;
+        }
+        return values;
+    }
+
+}
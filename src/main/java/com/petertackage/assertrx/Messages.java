@@ -0,0 +1,140 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helpers for building assertion failure messages.
+ */
+final class Messages {
+
+    static final int DEFAULT_MAX_VALUES_LENGTH = 1000;
+
+    private static final int CONTEXT = 2;
+    private static final String ELLIPSIS = "...";
+
+    private static volatile int maxValuesLength = DEFAULT_MAX_VALUES_LENGTH;
+
+    /**
+     * Formats a message with {@link String#format(String, Object...)} so that it can be passed as the sole
+     * argument to {@link org.assertj.core.api.AbstractAssert}'s <code>failWithMessage</code>.
+     * <p>
+     * AssertJ would otherwise render the arguments using its own representation, quoting strings and suffixing
+     * longs, which is inconsistent with messages built via <code>overridingErrorMessage</code>.
+     * </p>
+     */
+    static String format(final String format, final Object... args) {
+        return String.format(format, args).replace("%", "%%");
+    }
+
+    /**
+     * Renders a list of values as {@link java.util.AbstractCollection#toString()} does, unless that would exceed the
+     * configured size cap; then only head and tail excerpts are rendered, along with the number of values omitted
+     * and the total.
+     * <p>
+     * Rendering stops as soon as the cap is reached, so the cost is bounded by the cap rather than the list size.
+     * </p>
+     */
+    static String values(final List<?> values) {
+        return values(values, -1);
+    }
+
+    /**
+     * As {@link #values(List)}, but when truncating, the head excerpt starts just before <code>focusIndex</code>,
+     * typically the index of the first mismatch, so that it remains visible.
+     */
+    static String values(final List<?> values, final int focusIndex) {
+        final int limit = maxValuesLength;
+        final String all = renderAll(values, limit);
+        if (all != null) {
+            return all;
+        }
+        final int size = values.size();
+        final int half = Math.max(1, limit / 2);
+        final int start = focusIndex < 0 ? 0 : Math.max(0, Math.min(focusIndex, size - 1) - CONTEXT);
+
+        final StringBuilder head = new StringBuilder();
+        int headEnd = start;
+        while (headEnd < size && head.length() < half) {
+            if (headEnd > start) {
+                head.append(", ");
+            }
+            head.append(element(values.get(headEnd), half));
+            headEnd++;
+        }
+
+        final List<String> tail = new ArrayList<String>();
+        int tailStart = size;
+        int tailLength = 0;
+        while (tailStart > headEnd && tailLength < half) {
+            tailStart--;
+            final String element = element(values.get(tailStart), half);
+            tail.add(0, element);
+            tailLength += element.length() + 2;
+        }
+
+        final StringBuilder sb = new StringBuilder("[");
+        if (start > 0) {
+            sb.append(ELLIPSIS).append(" <").append(start).append("> more ").append(ELLIPSIS).append(", ");
+        }
+        sb.append(head);
+        if (tailStart > headEnd) {
+            sb.append(", ").append(ELLIPSIS).append(" <").append(tailStart - headEnd).append("> more ").append(ELLIPSIS);
+        }
+        for (String element : tail) {
+            sb.append(", ").append(element);
+        }
+        return sb.append("] (").append(size).append(" values)").toString();
+    }
+
+    static void setMaxValuesLength(final int length) {
+        if (length <= 0) {
+            throw new IllegalArgumentException("length must be positive: " + length);
+        }
+        maxValuesLength = length;
+    }
+
+    static int getMaxValuesLength() {
+        return maxValuesLength;
+    }
+
+    private static String renderAll(final List<?> values, final int limit) {
+        final StringBuilder sb = new StringBuilder("[");
+        final int size = values.size();
+        for (int i = 0; i < size; i++) {
+            if (i > 0) {
+                sb.append(", ");
+            }
+            final Object value = values.get(i);
+            sb.append(value == values ? "(this Collection)" : String.valueOf(value));
+            if (sb.length() > limit) {
+                return null;
+            }
+        }
+        return sb.append(']').toString();
+    }
+
+    private static String element(final Object value, final int limit) {
+        final String string = String.valueOf(value);
+        return string.length() <= limit ? string : string.substring(0, limit) + ELLIPSIS;
+    }
+
+    private Messages() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,292 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import rx.Observable;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Assertions on how an {@link Observable} pipeline behaves when subscribed, rather than on the events it emits.
+ * <p>
+ * Each assertion subscribes the {@link Observable} with a subscriber which only counts events, without retaining them,
+ * so that the measurement includes only what the pipeline itself does.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public final class ObservableAssert<T> extends AbstractAssert<ObservableAssert<T>, Observable<T>> {
+
+    private static final long DEFAULT_TIMEOUT_SECONDS = 30;
+    private static final int MAX_GC_CYCLES = 20;
+    private static final long GC_PAUSE_MILLIS = 20;
+
+    private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+
+    ObservableAssert(final Observable<T> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Sets how long each subscription may take to reach its terminal event, and how long to wait for the upstream
+     * to be garbage collected. Defaults to 30 seconds. These waits are not counted by an {@link AwaitProfilingRule}.
+     *
+     * @param timeout the timeout.
+     * @param unit    the {@link TimeUnit} of the timeout.
+     * @return this {@link ObservableAssert}
+     */
+    public ObservableAssert<T> withTimeout(final long timeout, final TimeUnit unit) {
+        timeoutNanos = unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Passes when a single subscription allocates no more than <code>bytes</code> per onNext event, on average.
+     * <p>
+     * See {@link #hasAllocatedAtMostBytesPerEvent(long, int)}.
+     * </p>
+     */
+    public ObservableAssert<T> hasAllocatedAtMostBytesPerEvent(final long bytes) {
+        return hasAllocatedAtMostBytesPerEvent(bytes, 0);
+    }
+
+    /**
+     * Passes when a subscription allocates no more than <code>bytes</code> per onNext event, on average, after
+     * <code>warmupRuns</code> unmeasured subscriptions have given the JIT compiler the chance to optimize the
+     * pipeline. A subscription which receives no onNext events fails, as there is nothing to measure against.
+     * <p>
+     * Allocation is measured with {@link com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long[])} on the
+     * participating threads: the subscribing thread and every thread on which an event was received. Allocation on
+     * upstream threads which never deliver an event is not seen. A thread which terminated before the subscription
+     * did cannot be measured, and fails the assertion.
+     * </p>
+     * <p>
+     * The figure is approximate: a thread started during the subscription has its whole lifetime counted, including
+     * any allocation before its first event, and allocation by unrelated work on a shared thread is counted too.
+     * </p>
+     *
+     * @param bytes      the maximum average number of bytes allocated per onNext event.
+     * @param warmupRuns the number of subscriptions to run before the measured one.
+     * @return this {@link ObservableAssert}
+     * @throws IllegalStateException if the JVM cannot measure per-thread allocation.
+     */
+    public ObservableAssert<T> hasAllocatedAtMostBytesPerEvent(final long bytes, final int warmupRuns) {
+        isNotNull();
+        final com.sun.management.ThreadMXBean threads = threadMXBean();
+        for (int i = 0; i < warmupRuns; i++) {
+            subscribeAndAwait(new CountingSubscriber<T>());
+        }
+
+        final CountingSubscriber<T> subscriber = new CountingSubscriber<T>();
+        final Map<Long, Long> before = allocatedBytesOfAllThreads(threads);
+        final long callerId = Thread.currentThread().getId();
+        final long callerBefore = threads.getThreadAllocatedBytes(callerId);
+        subscribeAndAwait(subscriber);
+        final long callerAfter = threads.getThreadAllocatedBytes(callerId);
+
+        long allocated = callerAfter - callerBefore;
+        final List<Thread> unmeasured = new ArrayList<Thread>();
+        for (Thread thread : subscriber.getThreads()) {
+            final long id = thread.getId();
+            if (id != callerId) {
+                final long after = threads.getThreadAllocatedBytes(id);
+                final Long start = before.get(id);
+                if (after < 0) {
+                    unmeasured.add(thread);
+                } else {
+                    allocated += after - (start != null ? start : 0);
+                }
+            }
+        }
+        if (!unmeasured.isEmpty()) {
+            failWithMessage(Messages.format(
+                    "Expected to measure allocation on every thread which received an event, but these had terminated: <%s>.",
+                    Messages.values(unmeasured)));
+        }
+        final long events = subscriber.getValueCount();
+        if (events == 0) {
+            failWithMessage("Expected at least one onNext event to measure allocation per event.");
+        }
+        final double perEvent = (double) allocated / events;
+        if (perEvent > bytes) {
+            failWithMessage(Messages.format(
+                    "Expected at most <%s> bytes allocated per event, but was: <%.1f> (<%s> bytes over <%s> events on threads: <%s>).",
+                    bytes, perEvent, allocated, events, Messages.values(new ArrayList<Thread>(subscriber.getThreads()))));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when nothing created upstream by a subscription remains reachable once it has reached its terminal
+     * event.
+     * <p>
+     * See {@link #hasReleasedUpstreamAfterUnsubscribing(long, TimeUnit)}.
+     * </p>
+     */
+    public ObservableAssert<T> hasReleasedUpstream() {
+        isNotNull();
+        final UpstreamTracker tracker = new UpstreamTracker();
+        tracker.install();
+        try {
+            subscribeAndAwait(new CountingSubscriber<T>());
+        } finally {
+            tracker.uninstall();
+        }
+        return hasReleased(tracker);
+    }
+
+    /**
+     * Passes when nothing created upstream by a subscription remains reachable once it has been unsubscribed, after
+     * <code>delay</code> or its terminal event, whichever comes first.
+     * <p>
+     * While subscribed, every {@link rx.Subscriber} created in the chain, whether by an operator or passed to an
+     * {@link Observable.OnSubscribe}, and every action scheduled on a {@link rx.Scheduler}, is tracked through
+     * {@link rx.plugins.RxJavaHooks} with a weak reference. Once the subscription has ended, garbage collection is
+     * requested for a bounded number of cycles until every tracked object has been collected. Anything still reachable,
+     * such as a subscriber held by a long-lived source or a timer which was never cancelled, is reported.
+     * </p>
+     * <p>
+     * The hooks are global, so subscriptions made on other threads during the assertion are also tracked.
+     * </p>
+     *
+     * @param delay the maximum time to remain subscribed.
+     * @param unit  the {@link TimeUnit} of the delay.
+     * @return this {@link ObservableAssert}
+     * @throws IllegalStateException if {@link rx.plugins.RxJavaHooks} are locked down.
+     */
+    public ObservableAssert<T> hasReleasedUpstreamAfterUnsubscribing(final long delay, final TimeUnit unit) {
+        isNotNull();
+        final UpstreamTracker tracker = new UpstreamTracker();
+        tracker.install();
+        try {
+            subscribeAndUnsubscribe(delay, unit);
+        } finally {
+            tracker.uninstall();
+        }
+        return hasReleased(tracker);
+    }
+
+    private ObservableAssert<T> hasReleased(final UpstreamTracker tracker) {
+        final long deadline = System.nanoTime() + timeoutNanos;
+        List<String> reachable = tracker.getReachable();
+        int cycles = 0;
+        while (!reachable.isEmpty() && cycles < MAX_GC_CYCLES && System.nanoTime() < deadline) {
+            System.gc();
+            cycles++;
+            try {
+                Thread.sleep(GC_PAUSE_MILLIS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted", e);
+            }
+            reachable = tracker.getReachable();
+        }
+        if (!reachable.isEmpty()) {
+            failWithMessage(Messages.format(
+                    "Expected the upstream to be released, but <%s> of <%s> tracked objects were still reachable after <%s> GC cycles: <%s>.",
+                    reachable.size(), tracker.getTrackedCount(), cycles, Messages.values(reachable)));
+        }
+        return this;
+    }
+
+    // Kept out of the assertion's frame, so that the subscriber is unreachable once this returns.
+    private void subscribeAndUnsubscribe(final long delay, final TimeUnit unit) {
+        final CountingSubscriber<T> subscriber = new CountingSubscriber<T>();
+        actual.subscribe(subscriber);
+        subscriber.awaitTerminalEvent(delay, unit);
+        subscriber.unsubscribe();
+    }
+
+    private void subscribeAndAwait(final CountingSubscriber<T> subscriber) {
+        actual.subscribe(subscriber);
+        if (!subscriber.awaitTerminalEvent(timeoutNanos, TimeUnit.NANOSECONDS)) {
+            subscriber.unsubscribe();
+            failWithMessage(Messages.format("Expected the Observable to terminate within <%s ms>, but it did not.",
+                    TimeUnit.NANOSECONDS.toMillis(timeoutNanos)));
+        }
+    }
+
+    private static com.sun.management.ThreadMXBean threadMXBean() {
+        final java.lang.management.ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+        if (!(bean instanceof com.sun.management.ThreadMXBean)
+                || !((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported()) {
+            throw new IllegalStateException("Per-thread allocation measurement is not supported by this JVM.");
+        }
+        final com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+        if (!threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        return threads;
+    }
+
+    private static Map<Long, Long> allocatedBytesOfAllThreads(final com.sun.management.ThreadMXBean threads) {
+        final long[] ids = threads.getAllThreadIds();
+        final long[] allocated = threads.getThreadAllocatedBytes(ids);
+        final Map<Long, Long> byId = new HashMap<Long, Long>();
+        for (int i = 0; i < ids.length; i++) {
+            byId.put(ids[i], allocated[i]);
+        }
+        return byId;
+    }
+
+    private static final class CountingSubscriber<T> extends RecordingSubscriber<T> {
+
+        private final Set<Thread> threads = new LinkedHashSet<Thread>();
+        private Thread lastThread;
+
+        @Override
+        protected void onRecord(final T value, final long index) {
+            recordThread();
+        }
+
+        @Override
+        public void onError(final Throwable e) {
+            recordThread();
+            super.onError(e);
+        }
+
+        @Override
+        public void onCompleted() {
+            recordThread();
+            super.onCompleted();
+        }
+
+        private void recordThread() {
+            final Thread current = Thread.currentThread();
+            if (current != lastThread) {
+                synchronized (threads) {
+                    threads.add(current);
+                }
+                lastThread = current;
+            }
+        }
+
+        Set<Thread> getThreads() {
+            synchronized (threads) {
+                return new LinkedHashSet<Thread>(threads);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,123 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.util.Arrays;
+
+/**
+ * A {@link RecordingSubscriber} which records onNext values into an array sized up front, and can be reused via
+ * {@link #reset()}, so that recording allocates nothing per event, and only a terminal event latch per run.
+ * <p>
+ * Intended for benchmark style tests, where the recording must not disturb what is being measured. Values beyond the
+ * capacity are counted but not retained.
+ * </p>
+ * <p>
+ * To be reused, the subscriber must be subscribed with {@link rx.Observable#unsafeSubscribe(rx.Subscriber)}, as
+ * {@link rx.Observable#subscribe(rx.Subscriber)} unsubscribes it permanently on its terminal event. Any
+ * {@link rx.Subscription} which upstream adds to the subscriber is retained, across runs, until it is unsubscribed,
+ * so unsubscribe it once the last run is done.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class PreallocatedTestSubscriber<T> extends RecordingSubscriber<T> {
+
+    private final Object[] values;
+    private boolean started;
+
+    /**
+     * @param capacity the number of onNext values to retain.
+     */
+    public PreallocatedTestSubscriber(final int capacity) {
+        this(capacity, Long.MAX_VALUE);
+    }
+
+    /**
+     * @param capacity       the number of onNext values to retain.
+     * @param initialRequest the initial request amount.
+     */
+    public PreallocatedTestSubscriber(final int capacity, final long initialRequest) {
+        super(initialRequest);
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("capacity must be positive: " + capacity);
+        }
+        this.values = new Object[capacity];
+    }
+
+    @Override
+    public void onStart() {
+        // After the first run, the initial request is still held by the Subscriber and is passed to the next Producer.
+        if (!started) {
+            started = true;
+            super.onStart();
+        }
+    }
+
+    @Override
+    protected void onRecord(final T value, final long index) {
+        if (index < values.length) {
+            values[(int) index] = value;
+        }
+    }
+
+    /**
+     * Clears the recorded values and events, keeping the storage, so that the subscriber can record another run.
+     *
+     * @throws IllegalStateException if the subscriber has been unsubscribed.
+     */
+    public void reset() {
+        if (isUnsubscribed()) {
+            throw new IllegalStateException("Cannot reset an unsubscribed subscriber; subscribe it with unsafeSubscribe to reuse it.");
+        }
+        Arrays.fill(values, 0, getRetainedCount(), null);
+        resetRecording();
+    }
+
+    /**
+     * @return the maximum number of onNext values retained.
+     */
+    public int getCapacity() {
+        return values.length;
+    }
+
+    /**
+     * @return the number of onNext values retained, which is the lesser of the value count and the capacity.
+     */
+    public int getRetainedCount() {
+        return (int) Math.min(getValueCount(), values.length);
+    }
+
+    /**
+     * @return true if more onNext values were received than could be retained.
+     */
+    public boolean hasOverflowed() {
+        return getValueCount() > values.length;
+    }
+
+    /**
+     * @param index the index of the onNext value.
+     * @return the retained value at the index.
+     */
+    @SuppressWarnings("unchecked")
+    public T getValue(final int index) {
+        final int retained = getRetainedCount();
+        if (index < 0 || index >= retained) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", retained count: " + retained);
+        }
+        return (T) values[index];
+    }
+
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.util.Objects;
+
+/**
+ * Assertion methods for {@link PreallocatedTestSubscriber}s.
+ * <p>
+ * Values are compared in place in the subscriber's array; nothing is copied unless an assertion fails.
+ * </p>
+ * <p>
+ * To create an instance of this class, invoke <code>{@link Assertions#assertThat(PreallocatedTestSubscriber)}</code>.
+ * </p>
+ */
+public final class PreallocatedTestSubscriberAssert<T>
+        extends AbstractRecordingSubscriberAssert<PreallocatedTestSubscriberAssert<T>, PreallocatedTestSubscriber<T>> {
+
+    PreallocatedTestSubscriberAssert(final PreallocatedTestSubscriber<T> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Passes when no more onNext values were received than the subscriber's capacity.
+     *
+     * @return this {@link PreallocatedTestSubscriberAssert}
+     */
+    public PreallocatedTestSubscriberAssert<T> hasNotOverflowed() {
+        isNotNull();
+        if (actual.hasOverflowed()) {
+            failWithMessage(Messages.format("Expected at most <%s> onNext events, but received: <%s>.",
+                    actual.getCapacity(), actual.getValueCount()));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber has received a single onNext event, equal to the provided value.
+     *
+     * @param value the expected value.
+     * @return this {@link PreallocatedTestSubscriberAssert}
+     */
+    public PreallocatedTestSubscriberAssert<T> hasReceivedValue(final T value) {
+        isNotNull();
+        hasValueCount(1);
+        final T actualValue = actual.getValue(0);
+        if (!Objects.areEqual(actualValue, value)) {
+            failWithMessage(Messages.format("Expected onNext event to be: <%s>, but was: <%s>.", value, actualValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber has received exactly the provided values, in order.
+     *
+     * @param values the expected values.
+     * @return this {@link PreallocatedTestSubscriberAssert}
+     */
+    public PreallocatedTestSubscriberAssert<T> hasReceivedValues(final T... values) {
+        isNotNull();
+        hasValueCount(values.length);
+        hasNotOverflowed();
+        for (int i = 0; i < values.length; i++) {
+            final T actualValue = actual.getValue(i);
+            if (!Objects.areEqual(actualValue, values[i])) {
+                failWithMessage(Messages.format("Expected onNext event at index <%s> to be: <%s>, but was: <%s>.",
+                        i, values[i], actualValue));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's first received event is equal to the provided value.
+     *
+     * @param value the expected first received onNext value.
+     * @return this {@link PreallocatedTestSubscriberAssert}
+     */
+    public PreallocatedTestSubscriberAssert<T> hasReceivedFirstValue(final T value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        final T firstValue = actual.getValue(0);
+        if (!Objects.areEqual(firstValue, value)) {
+            failWithMessage(Messages.format("Expected first received onNext event to be: <%s>, but was: <%s>.", value, firstValue));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the subscriber's last received event is equal to the provided value.
+     * <p>
+     * Fails if the last value was beyond the subscriber's capacity.
+     * </p>
+     *
+     * @param value the expected last received onNext value.
+     * @return this {@link PreallocatedTestSubscriberAssert}
+     */
+    public PreallocatedTestSubscriberAssert<T> hasReceivedLastValue(final T value) {
+        isNotNull();
+        hasReceivedAnyValues();
+        hasNotOverflowed();
+        final T lastValue = actual.getValue(actual.getRetainedCount() - 1);
+        if (!Objects.areEqual(lastValue, value)) {
+            failWithMessage(Messages.format("Expected last received onNext event to be: <%s>, but was: <%s>.", value, lastValue));
+        }
+        return this;
+    }
+
+}
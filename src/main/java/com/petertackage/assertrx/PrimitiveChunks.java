@@ -0,0 +1,57 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+/**
+ * Addressing for the fixed size primitive array chunks used by the primitive recording subscribers.
+ * <p>
+ * Values are stored in chunks rather than a single array so that growing the storage never copies the recorded
+ * values, only the (small) array of chunk references.
+ * </p>
+ */
+final class PrimitiveChunks {
+
+    static final int SHIFT = 13;
+    static final int CHUNK_SIZE = 1 << SHIFT;
+    static final int MASK = CHUNK_SIZE - 1;
+    static final int INITIAL_CHUNKS = 4;
+
+    static int chunkOf(final long index) {
+        return (int) (index >>> SHIFT);
+    }
+
+    static int offsetOf(final long index) {
+        return (int) (index & MASK);
+    }
+
+    static int grownLength(final int length, final int requiredChunk) {
+        int grown = length;
+        while (grown <= requiredChunk) {
+            grown *= 2;
+        }
+        return grown;
+    }
+
+    static void checkIndex(final long index, final long count) {
+        if (index < 0 || index >= count) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", value count: " + count);
+        }
+    }
+
+    private PrimitiveChunks() {
+        throw new AssertionError("No instances.");
+    }
+}
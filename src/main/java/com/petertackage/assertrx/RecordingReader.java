@@ -0,0 +1,173 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+/**
+ * Reads a recording written by {@link Recordings}, one event at a time, through a memory-mapped buffer.
+ * <p>
+ * The file is never copied onto the heap; only the value of the current event is decoded. Recordings are limited to
+ * 2GB, the maximum size of a single mapping.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public final class RecordingReader<T> implements Closeable {
+
+    /**
+     * The kind of a recorded event.
+     */
+    public enum Event {
+        ON_NEXT, ON_ERROR, ON_COMPLETED
+    }
+
+    private static final long NO_TIMESTAMP = -1;
+
+    private final File file;
+    private final RandomAccessFile input;
+    private final ByteBuffer buffer;
+    private final ValueCodec<? extends T> codec;
+    private final boolean hasTimestamps;
+
+    private T value;
+    private String errorClassName;
+    private String errorMessage;
+    private long elapsedNanos;
+
+    /**
+     * Opens a recording, checking its header.
+     *
+     * @param file  the recording.
+     * @param codec the {@link ValueCodec} with which the onNext values were written.
+     * @throws IOException if the file could not be read, or is not a recording.
+     */
+    public RecordingReader(final File file, final ValueCodec<? extends T> codec) throws IOException {
+        this.file = file;
+        this.codec = codec;
+        this.input = new RandomAccessFile(file, "r");
+        try {
+            final FileChannel channel = input.getChannel();
+            final long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("Recording too large to map: " + file + " (" + size + " bytes)");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.remaining() < 6 || buffer.getInt() != Recordings.MAGIC) {
+                throw new IOException("Not a recording: " + file);
+            }
+            final byte version = buffer.get();
+            if (version != Recordings.VERSION) {
+                throw new IOException("Unsupported recording version: " + version + " in " + file);
+            }
+            hasTimestamps = (buffer.get() & Recordings.FLAG_TIMESTAMPS) != 0;
+        } catch (IOException e) {
+            input.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Advances to the next recorded event.
+     *
+     * @return the kind of event, or null if there are no more.
+     * @throws IOException if the recording is truncated or corrupt.
+     */
+    public Event next() throws IOException {
+        value = null;
+        errorClassName = null;
+        errorMessage = null;
+        if (!buffer.hasRemaining()) {
+            return null;
+        }
+        final int position = buffer.position();
+        try {
+            final byte tag = buffer.get();
+            if (hasTimestamps) {
+                elapsedNanos += readVarLong();
+            }
+            switch (tag) {
+                case Recordings.ON_NEXT:
+                    value = codec.read(buffer);
+                    return Event.ON_NEXT;
+                case Recordings.ON_ERROR:
+                    errorClassName = ValueCodecs.readString(buffer);
+                    errorMessage = ValueCodecs.readString(buffer);
+                    return Event.ON_ERROR;
+                case Recordings.ON_COMPLETED:
+                    return Event.ON_COMPLETED;
+                default:
+                    throw new IOException("Unknown event tag: " + tag + " at byte " + position + " of " + file);
+            }
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated recording at byte " + position + " of " + file);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Corrupt recording at byte " + position + " of " + file + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * @return the value of the current onNext event.
+     */
+    public T getValue() {
+        return value;
+    }
+
+    /**
+     * @return the class name of the {@link Throwable} of the current onError event.
+     */
+    public String getErrorClassName() {
+        return errorClassName;
+    }
+
+    /**
+     * @return the message of the {@link Throwable} of the current onError event, which may be null.
+     */
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    /**
+     * @return the nanoseconds from subscription to the current event, or -1 if timestamps were not recorded.
+     */
+    public long getElapsedNanos() {
+        return hasTimestamps ? elapsedNanos : NO_TIMESTAMP;
+    }
+
+    @Override
+    public void close() throws IOException {
+        input.close();
+    }
+
+    private long readVarLong() throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            final byte b = buffer.get();
+            result |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return result;
+            }
+        }
+        throw new IOException("Malformed timestamp in " + file);
+    }
+
+}
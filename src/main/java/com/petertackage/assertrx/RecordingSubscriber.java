@@ -0,0 +1,198 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.Subscriber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Base for {@link Subscriber}s which record their events in a more compact form than
+ * {@link rx.observers.TestSubscriber}.
+ * <p>
+ * Only the terminal events are recorded here, as running counts plus the first received error, so that their memory
+ * use is constant regardless of the length of the stream. Subclasses decide how much of each onNext value to retain.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public abstract class RecordingSubscriber<T> extends Subscriber<T> {
+
+    private final long initialRequest;
+    private volatile CountDownLatch latch = new CountDownLatch(1);
+    private volatile long valueCount;
+    private volatile int errorCount;
+    private volatile int completions;
+    private volatile Throwable firstError;
+    private volatile Thread lastSeenThread;
+
+    /**
+     * Creates a subscriber which requests an unbounded number of values.
+     */
+    protected RecordingSubscriber() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * Creates a subscriber which requests <code>initialRequest</code> values when it starts.
+     *
+     * @param initialRequest the initial request amount, must not be negative.
+     */
+    protected RecordingSubscriber(final long initialRequest) {
+        if (initialRequest < 0) {
+            throw new IllegalArgumentException("initialRequest must not be negative: " + initialRequest);
+        }
+        this.initialRequest = initialRequest;
+    }
+
+    @Override
+    public void onStart() {
+        request(initialRequest);
+    }
+
+    @Override
+    public void onNext(final T value) {
+        lastSeenThread = Thread.currentThread();
+        final long index = valueCount;
+        onRecord(value, index);
+        valueCount = index + 1;
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        try {
+            lastSeenThread = Thread.currentThread();
+            if (firstError == null) {
+                firstError = e;
+            }
+            errorCount++;
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        try {
+            lastSeenThread = Thread.currentThread();
+            completions++;
+        } finally {
+            latch.countDown();
+        }
+    }
+
+    /**
+     * Records the value of an onNext event.
+     *
+     * @param value the received value.
+     * @param index the zero-based position of the value in the stream.
+     */
+    protected abstract void onRecord(T value, long index);
+
+    /**
+     * Clears the recorded counts, terminal events and last seen thread, so that the subscriber can record another
+     * stream. Only safe to call when no events are being delivered.
+     */
+    protected void resetRecording() {
+        valueCount = 0;
+        errorCount = 0;
+        completions = 0;
+        firstError = null;
+        lastSeenThread = null;
+        latch = new CountDownLatch(1);
+    }
+
+    /**
+     * Requests more values from upstream.
+     *
+     * @param n the number of additional values to request.
+     */
+    public void requestMore(final long n) {
+        request(n);
+    }
+
+    /**
+     * Blocks until this subscriber receives a terminal event.
+     */
+    public void awaitTerminalEvent() {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a terminal event.", e);
+        }
+    }
+
+    /**
+     * Blocks until this subscriber receives a terminal event, or the timeout elapses.
+     *
+     * @return true if a terminal event was received.
+     */
+    public boolean awaitTerminalEvent(final long timeout, final TimeUnit unit) {
+        try {
+            return latch.await(timeout, unit);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a terminal event.", e);
+        }
+    }
+
+    /**
+     * Blocks until this subscriber receives a terminal event, unsubscribing if the timeout elapses first.
+     */
+    public void awaitTerminalEventAndUnsubscribeOnTimeout(final long timeout, final TimeUnit unit) {
+        if (!awaitTerminalEvent(timeout, unit)) {
+            unsubscribe();
+        }
+    }
+
+    /**
+     * @return the total number of onNext events received, including any which are no longer retained.
+     */
+    public final long getValueCount() {
+        return valueCount;
+    }
+
+    /**
+     * @return the number of onError events received.
+     */
+    public final int getErrorCount() {
+        return errorCount;
+    }
+
+    /**
+     * @return the number of onCompleted events received.
+     */
+    public final int getCompletions() {
+        return completions;
+    }
+
+    /**
+     * @return the first received onError value, or null if there has been none.
+     */
+    public final Throwable getFirstError() {
+        return firstError;
+    }
+
+    /**
+     * @return the {@link Thread} on which the most recent event was received, or null if there has been none.
+     */
+    public final Thread getLastSeenThread() {
+        return lastSeenThread;
+    }
+
+}
@@ -0,0 +1,120 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.observers.TestSubscriber;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Records the events received by a {@link TestSubscriber} to a compact binary file, to be compared against later with
+ * {@link TestSubscriberAssert#matchesRecording(File, ValueCodec)}, or read with a {@link RecordingReader}.
+ * <p>
+ * The file holds a short header followed by one entry per event: a tag byte, the time since the previous event if
+ * timestamps are recorded, then the value, as written by the {@link ValueCodec}, or for an onError event, the class
+ * name and message of the {@link Throwable}. Timestamps are recorded when the subscriber is a
+ * {@link TimedTestSubscriber}, as variable length nanosecond deltas.
+ * </p>
+ */
+public final class Recordings {
+
+    static final int MAGIC = 0x41525852;
+    static final byte VERSION = 1;
+    static final byte FLAG_TIMESTAMPS = 1;
+    static final byte ON_NEXT = 'N';
+    static final byte ON_ERROR = 'E';
+    static final byte ON_COMPLETED = 'C';
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * Writes the events received by the subscriber to a file, replacing any existing content.
+     *
+     * @param subscriber the subscriber whose events are recorded.
+     * @param file       the file to write.
+     * @param codec      the {@link ValueCodec} for the onNext values.
+     * @throws IOException if the file could not be written.
+     */
+    public static <T> void record(final TestSubscriber<T> subscriber,
+                                  final File file,
+                                  final ValueCodec<? super T> codec) throws IOException {
+        final TimedTestSubscriber<T> timed = subscriber instanceof TimedTestSubscriber
+                ? (TimedTestSubscriber<T>) subscriber
+                : null;
+        final DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        try {
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeByte(timed != null ? FLAG_TIMESTAMPS : 0);
+
+            long previous = timed != null ? timed.getSubscribedAtNanos() : 0;
+            final List<T> values = subscriber.getOnNextEvents();
+            final int valueCount = values.size();
+            for (int i = 0; i < valueCount; i++) {
+                out.writeByte(ON_NEXT);
+                if (timed != null) {
+                    final long timestamp = timed.getOnNextTimestampNanos(i);
+                    writeVarLong(timestamp - previous, out);
+                    previous = timestamp;
+                }
+                codec.write(values.get(i), out);
+            }
+            for (Throwable error : subscriber.getOnErrorEvents()) {
+                out.writeByte(ON_ERROR);
+                previous = writeTerminalTimestamp(timed, previous, out);
+                ValueCodecs.writeString(error.getClass().getName(), out);
+                ValueCodecs.writeString(error.getMessage(), out);
+            }
+            for (int i = 0; i < subscriber.getCompletions(); i++) {
+                out.writeByte(ON_COMPLETED);
+                previous = writeTerminalTimestamp(timed, previous, out);
+            }
+        } finally {
+            out.close();
+        }
+    }
+
+    private static long writeTerminalTimestamp(final TimedTestSubscriber<?> timed,
+                                               final long previous,
+                                               final DataOutput out) throws IOException {
+        if (timed == null) {
+            return previous;
+        }
+        final long timestamp = timed.getTerminatedAtNanos();
+        writeVarLong(Math.max(0, timestamp - previous), out);
+        return timestamp;
+    }
+
+    private static void writeVarLong(final long value, final DataOutput out) throws IOException {
+        long remaining = value;
+        while ((remaining & ~0x7FL) != 0) {
+            out.writeByte((int) ((remaining & 0x7F) | 0x80));
+            remaining >>>= 7;
+        }
+        out.writeByte((int) remaining);
+    }
+
+    private Recordings() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,146 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.Producer;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A {@link TestSubscriber} which records the backpressure requests it makes upstream, and the number of onNext events
+ * delivered against them.
+ * <p>
+ * Every request which reaches the upstream {@link Producer}, whether the initial request, one made via
+ * {@link #requestMore(long)}, or the implicit unbounded request made when no initial request is given, is logged.
+ * Counters are lock-free, so recording does not change the timing of the stream under test.
+ * </p>
+ * <p>
+ * Note that the default constructor, like {@link TestSubscriber}'s, makes an unbounded request; use
+ * {@link #RequestRecordingTestSubscriber(long)} to test bounded demand.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class RequestRecordingTestSubscriber<T> extends TestSubscriber<T> {
+
+    private static final long NONE = -1;
+
+    private final Queue<Long> requestBatches = new ConcurrentLinkedQueue<Long>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong delivered = new AtomicLong();
+    private final AtomicLong firstOverrunIndex = new AtomicLong(NONE);
+    private volatile boolean requestedUnbounded;
+
+    public RequestRecordingTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public RequestRecordingTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    @Override
+    public void setProducer(final Producer producer) {
+        super.setProducer(new RecordingProducer(producer));
+    }
+
+    @Override
+    public void onNext(final T value) {
+        final long count = delivered.incrementAndGet();
+        if (count > requested.get()) {
+            firstOverrunIndex.compareAndSet(NONE, count - 1);
+        }
+        super.onNext(value);
+    }
+
+    /**
+     * @return the total amount requested, saturating at {@link Long#MAX_VALUE}.
+     */
+    public long getRequestedTotal() {
+        return requested.get();
+    }
+
+    /**
+     * @return the amount of each request made, in order.
+     */
+    public List<Long> getRequestBatchSizes() {
+        return new ArrayList<Long>(requestBatches);
+    }
+
+    /**
+     * @return true if an unbounded request, of {@link Long#MAX_VALUE}, was made.
+     */
+    public boolean wasRequestedUnbounded() {
+        return requestedUnbounded;
+    }
+
+    /**
+     * @return the number of onNext events delivered.
+     */
+    public long getDeliveredCount() {
+        return delivered.get();
+    }
+
+    /**
+     * @return the index of the first onNext event delivered beyond the amount requested at that time, or -1 if
+     * there has been none.
+     */
+    public long getFirstOverrunIndex() {
+        return firstOverrunIndex.get();
+    }
+
+    private void recordRequest(final long n) {
+        requestBatches.add(n);
+        if (n == Long.MAX_VALUE) {
+            requestedUnbounded = true;
+        }
+        long current;
+        long next;
+        do {
+            current = requested.get();
+            next = current + n;
+            if (next < 0) {
+                next = Long.MAX_VALUE;
+            }
+        } while (!requested.compareAndSet(current, next));
+    }
+
+    private final class RecordingProducer implements Producer {
+
+        private final Producer actual;
+
+        RecordingProducer(final Producer actual) {
+            this.actual = actual;
+        }
+
+        @Override
+        public void request(final long n) {
+            if (n > 0) {
+                recordRequest(n);
+            }
+            actual.request(n);
+        }
+    }
+
+}
@@ -0,0 +1,185 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.Observer;
+import rx.observers.TestSubscriber;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * A {@link TestSubscriber} which detects violations of the Observable contract requirement that onNext, onError and
+ * onCompleted are called serially, never overlapping.
+ * <p>
+ * Each event claims an in-flight flag with a compare-and-set on entry, and releases it on exit. An event which finds
+ * the flag already held overlaps with another in progress, and is reported as a {@link Violation}. The detection takes
+ * no locks, so it does not itself serialize the calls it is watching.
+ * </p>
+ * <p>
+ * Note that the value list of the underlying {@link TestSubscriber} is not thread-safe, so after a violation the
+ * recorded values may themselves be inconsistent.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class SerializationCheckingTestSubscriber<T> extends TestSubscriber<T> {
+
+    private final AtomicReference<Thread> inFlight = new AtomicReference<Thread>();
+    private final AtomicLong eventIndex = new AtomicLong();
+    private final AtomicInteger violationCount = new AtomicInteger();
+    private final AtomicReference<Violation> firstViolation = new AtomicReference<Violation>();
+    private volatile long inFlightIndex;
+
+    public SerializationCheckingTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public SerializationCheckingTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    /**
+     * @param delegate the {@link Observer} to which events are forwarded.
+     */
+    public SerializationCheckingTestSubscriber(final Observer<T> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    public void onNext(final T value) {
+        final boolean entered = enter();
+        try {
+            super.onNext(value);
+        } finally {
+            exit(entered);
+        }
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        final boolean entered = enter();
+        try {
+            super.onError(e);
+        } finally {
+            exit(entered);
+        }
+    }
+
+    @Override
+    public void onCompleted() {
+        final boolean entered = enter();
+        try {
+            super.onCompleted();
+        } finally {
+            exit(entered);
+        }
+    }
+
+    /**
+     * @return the number of events which overlapped with another event in progress.
+     */
+    public int getViolationCount() {
+        return violationCount.get();
+    }
+
+    /**
+     * @return the first detected {@link Violation}, or null if all events were serialized.
+     */
+    public Violation getFirstViolation() {
+        return firstViolation.get();
+    }
+
+    private boolean enter() {
+        final Thread current = Thread.currentThread();
+        final long index = eventIndex.getAndIncrement();
+        if (inFlight.compareAndSet(null, current)) {
+            inFlightIndex = index;
+            return true;
+        }
+        violationCount.incrementAndGet();
+        final Thread other = inFlight.get();
+        firstViolation.compareAndSet(null, new Violation(index, current, inFlightIndex, other));
+        return false;
+    }
+
+    private void exit(final boolean entered) {
+        if (entered) {
+            inFlight.set(null);
+        }
+    }
+
+    /**
+     * Describes an event which was called while another event was still in progress.
+     */
+    public static final class Violation {
+
+        private final long eventIndex;
+        private final Thread thread;
+        private final long inFlightEventIndex;
+        private final Thread inFlightThread;
+
+        Violation(final long eventIndex,
+                  final Thread thread,
+                  final long inFlightEventIndex,
+                  final Thread inFlightThread) {
+            this.eventIndex = eventIndex;
+            this.thread = thread;
+            this.inFlightEventIndex = inFlightEventIndex;
+            this.inFlightThread = inFlightThread;
+        }
+
+        /**
+         * @return the index of the overlapping event, counting all events in the order they were entered.
+         */
+        public long getEventIndex() {
+            return eventIndex;
+        }
+
+        /**
+         * @return the {@link Thread} which called the overlapping event.
+         */
+        public Thread getThread() {
+            return thread;
+        }
+
+        /**
+         * @return the index of the event which was in progress. This is published just after the flag is claimed,
+         * so an overlap at that instant may report the preceding event.
+         */
+        public long getInFlightEventIndex() {
+            return inFlightEventIndex;
+        }
+
+        /**
+         * @return the {@link Thread} on which the event in progress was called, or null if it exited in the meantime.
+         */
+        public Thread getInFlightThread() {
+            return inFlightThread;
+        }
+
+        @Override
+        public String toString() {
+            return "event " + eventIndex + " on " + thread
+                    + " overlapped event " + inFlightEventIndex + " on " + inFlightThread;
+        }
+    }
+
+}
@@ -0,0 +1,317 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions on the outcomes of running an {@link Observable} many times concurrently, to expose races which only
+ * appear under contention.
+ * <p>
+ * Each iteration subscribes a new {@link TestSubscriber}, or one from the factory set with
+ * {@link #withSubscribers(Func0)}, to a fresh {@link Observable} from the factory, awaits its terminal event, and runs
+ * the chain of {@link TestSubscriberAssert} checks against it. Iterations run in rounds, one per worker thread; each
+ * round starts together at a barrier, after which every worker spins for a random time before subscribing, so that the
+ * start of the iterations is interleaved differently in every round.
+ * </p>
+ * <p>
+ * Outcomes are counted in a histogram, by failure message, in the style of jcstress; passed iterations are counted
+ * apart, so no failure message can be mistaken for them. The iterations are run once, by the first verdict, such as
+ * {@link #neverFails()}, and the result shared by later verdicts.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public final class StressAssert<T> extends AbstractAssert<StressAssert<T>, Func0<? extends Observable<T>>> {
+
+    private static final int DEFAULT_ITERATIONS = 1000;
+    private static final long DEFAULT_TIMEOUT_SECONDS = 5;
+    private static final int MAX_START_SPINS = 1 << 12;
+
+    private static volatile int spinSink;
+
+    private int iterations = DEFAULT_ITERATIONS;
+    private int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+    private long timeoutNanos = TimeUnit.SECONDS.toNanos(DEFAULT_TIMEOUT_SECONDS);
+    private Action1<? super TestSubscriberAssert<T>> checks = new Action1<TestSubscriberAssert<T>>() {
+        @Override
+        public void call(final TestSubscriberAssert<T> ts) {
+            ts.hasNoErrors();
+        }
+    };
+    private Func0<? extends TestSubscriber<T>> subscribers;
+    private Map<String, Integer> outcomes;
+
+    StressAssert(final Func0<? extends Observable<T>> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Sets the number of iterations to run. Defaults to 1000.
+     *
+     * @param iterations the number of iterations.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> withIterations(final int iterations) {
+        assertThat(iterations).isPositive();
+        this.iterations = iterations;
+        outcomes = null;
+        return this;
+    }
+
+    /**
+     * Sets the number of worker threads, and so of iterations run concurrently. Defaults to the number of available
+     * processors, and at least two.
+     *
+     * @param workers the number of worker threads.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> withWorkers(final int workers) {
+        assertThat(workers).isPositive();
+        this.workers = workers;
+        outcomes = null;
+        return this;
+    }
+
+    /**
+     * Sets how long each iteration may take to reach its terminal event, after which it is unsubscribed and checked
+     * anyway. Defaults to 5 seconds.
+     *
+     * @param timeout the timeout.
+     * @param unit    the {@link TimeUnit} of the timeout.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> withTimeout(final long timeout, final TimeUnit unit) {
+        assertThat(timeout).isPositive();
+        assertThat(unit).isNotNull();
+        timeoutNanos = unit.toNanos(timeout);
+        outcomes = null;
+        return this;
+    }
+
+    /**
+     * Sets the factory of the {@link TestSubscriber} subscribed in each iteration, such as a
+     * {@link SerializationCheckingTestSubscriber}, so that checks specific to it can be run. Defaults to a plain
+     * {@link TestSubscriber}.
+     *
+     * @param subscribers the factory of a new {@link TestSubscriber} for each iteration.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> withSubscribers(final Func0<? extends TestSubscriber<T>> subscribers) {
+        assertThat(subscribers).isNotNull();
+        this.subscribers = subscribers;
+        outcomes = null;
+        return this;
+    }
+
+    /**
+     * Sets the checks run against each iteration's {@link TestSubscriber}. Defaults to
+     * {@link TestSubscriberAssert#hasNoErrors()}.
+     *
+     * @param checks the chain of {@link TestSubscriberAssert} checks.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> checking(final Action1<? super TestSubscriberAssert<T>> checks) {
+        assertThat(checks).isNotNull();
+        this.checks = checks;
+        outcomes = null;
+        return this;
+    }
+
+    /**
+     * Passes when every iteration satisfied the checks.
+     *
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> neverFails() {
+        final int failed = failedCount(outcomes());
+        if (failed > 0) {
+            failWithMessage(Messages.format("Expected all <%s> iterations to pass, but <%s> failed. Outcomes:%s",
+                    iterations, failed, render(outcomes)));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no more than the given fraction of iterations failed the checks.
+     *
+     * @param fraction the maximum fraction of failing iterations, between 0 and 1.
+     * @return this {@link StressAssert}
+     */
+    public StressAssert<T> failsAtMostFraction(final double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("fraction must be between 0 and 1: " + fraction);
+        }
+        final int failed = failedCount(outcomes());
+        if (failed > fraction * iterations) {
+            failWithMessage(Messages.format(
+                    "Expected at most <%s> of iterations to fail, but <%s> of <%s> failed. Outcomes:%s",
+                    fraction, failed, iterations, render(outcomes)));
+        }
+        return this;
+    }
+
+    private Map<String, Integer> outcomes() {
+        isNotNull();
+        if (outcomes == null) {
+            outcomes = run();
+        }
+        return outcomes;
+    }
+
+    private Map<String, Integer> run() {
+        final int threads = Math.min(workers, iterations);
+        final int rounds = (iterations + threads - 1) / threads;
+        final CyclicBarrier barrier = new CyclicBarrier(threads);
+        final CountDownLatch done = new CountDownLatch(threads);
+        final List<Map<String, Integer>> histograms = new ArrayList<Map<String, Integer>>();
+        for (int w = 0; w < threads; w++) {
+            final int worker = w;
+            final Map<String, Integer> histogram = new HashMap<String, Integer>();
+            histograms.add(histogram);
+            final Thread thread = new Thread(AwaitProfiler.propagating(new Runnable() {
+                @Override
+                public void run() {
+                    try {
+                        final Random random = new Random();
+                        for (int round = 0; round < rounds; round++) {
+                            barrier.await();
+                            if (round * threads + worker < iterations) {
+                                spin(random.nextInt(MAX_START_SPINS));
+                                count(histogram, iterate());
+                            }
+                        }
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (BrokenBarrierException e) {
+                        // Another worker was interrupted; give up.
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }), "assert-rx-stress-" + (w + 1));
+            thread.setDaemon(true);
+            thread.start();
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+
+        final Map<String, Integer> merged = new HashMap<String, Integer>();
+        int total = 0;
+        for (Map<String, Integer> histogram : histograms) {
+            for (Map.Entry<String, Integer> entry : histogram.entrySet()) {
+                final Integer current = merged.get(entry.getKey());
+                merged.put(entry.getKey(), (current == null ? 0 : current) + entry.getValue());
+                total += entry.getValue();
+            }
+        }
+        if (total < iterations) {
+            throw new IllegalStateException("Interrupted after " + total + " of " + iterations + " iterations.");
+        }
+        return merged;
+    }
+
+    /**
+     * @return the failure message of the iteration, or null if it passed.
+     */
+    private String iterate() {
+        try {
+            final TestSubscriber<T> subscriber = subscribers == null ? new TestSubscriber<T>() : subscribers.call();
+            actual.call().subscribe(subscriber);
+            subscriber.awaitTerminalEventAndUnsubscribeOnTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+            checks.call(new TestSubscriberAssert<T>(subscriber, TestSubscriberAssert.class));
+            return null;
+        } catch (AssertionError e) {
+            return String.valueOf(e.getMessage()).trim();
+        } catch (Throwable e) {
+            // Anything thrown signals a bug under test, so it is an outcome rather than a reason to stop.
+            return e.toString();
+        }
+    }
+
+    private static void count(final Map<String, Integer> histogram, final String outcome) {
+        final Integer current = histogram.get(outcome);
+        histogram.put(outcome, current == null ? 1 : current + 1);
+    }
+
+    private static void spin(final int spins) {
+        int sink = 0;
+        for (int i = 0; i < spins; i++) {
+            sink += i;
+        }
+        spinSink = sink;
+    }
+
+    private static int failedCount(final Map<String, Integer> outcomes) {
+        int failed = 0;
+        for (Map.Entry<String, Integer> entry : outcomes.entrySet()) {
+            if (entry.getKey() != null) {
+                failed += entry.getValue();
+            }
+        }
+        return failed;
+    }
+
+    private static String render(final Map<String, Integer> outcomes) {
+        final List<Map.Entry<String, Integer>> entries = new ArrayList<Map.Entry<String, Integer>>(outcomes.entrySet());
+        Collections.sort(entries, new Comparator<Map.Entry<String, Integer>>() {
+            @Override
+            public int compare(final Map.Entry<String, Integer> lhs, final Map.Entry<String, Integer> rhs) {
+                final int byCount = rhs.getValue().compareTo(lhs.getValue());
+                if (byCount != 0) {
+                    return byCount;
+                }
+                // Passed iterations, keyed by null, come after failures of equal count.
+                if (lhs.getKey() == null || rhs.getKey() == null) {
+                    return lhs.getKey() == null ? 1 : -1;
+                }
+                return lhs.getKey().compareTo(rhs.getKey());
+            }
+        });
+        final StringBuilder details = new StringBuilder();
+        for (Map.Entry<String, Integer> entry : entries) {
+            if (entry.getKey() == null) {
+                details.append(String.format("%n  <%s> iterations passed", entry.getValue()));
+            } else {
+                details.append(String.format("%n  <%s> iterations: %s", entry.getValue(), entry.getKey()));
+            }
+        }
+        return details.toString();
+    }
+
+}
@@ -16,13 +16,26 @@
 package com.petertackage.assertrx;
 
 import org.assertj.core.api.AbstractAssert;
+import org.assertj.core.api.AbstractIntegerAssert;
 import org.assertj.core.api.AbstractListAssert;
 import org.assertj.core.api.AbstractObjectAssert;
 import org.assertj.core.api.AbstractThrowableAssert;
 import org.assertj.core.data.Index;
 import org.assertj.core.util.Objects;
+import rx.Observable;
+import rx.Subscription;
+import rx.functions.Func1;
 import rx.observers.TestSubscriber;
+import rx.schedulers.TestScheduler;
 
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.TimeUnit;
 
@@ -36,6 +49,12 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriberAssert<T>, TestSubscriber<T>> {
 
+    private static final long VIRTUAL_TIME_STEP_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final int DIFF_CONTEXT = 3;
+
+    private boolean parallelEvaluation;
+    private boolean bloomPreFilter;
+
     TestSubscriberAssert(final TestSubscriber<T> actual, final Class<?> selfType) {
         super(actual, selfType);
     }
@@ -45,7 +64,8 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
      */
     public TestSubscriberAssert<T> afterTerminalEvent() {
         isNotNull();
-        actual.awaitTerminalEvent();
+        awaitTerminalEvent("afterTerminalEvent()", AwaitProfiler.UNBOUNDED, TimeUnit.NANOSECONDS, false);
+        failOnUnmetExpectations();
         return this;
     }
 
@@ -54,7 +74,45 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
      */
     public TestSubscriberAssert<T> afterTerminalEvent(final long timeout, final TimeUnit unit) {
         isNotNull();
-        actual.awaitTerminalEvent(timeout, unit);
+        awaitTerminalEvent(String.format("afterTerminalEvent(%s, %s)", timeout, unit), timeout, unit, false);
+        failOnUnmetExpectations();
+        return this;
+    }
+
+    /**
+     * Advances the provided {@link TestScheduler} until the {@link TestSubscriber} receives a terminal event, or
+     * <code>maxVirtualTime</code> has elapsed on the scheduler, without blocking.
+     * <p>
+     * Virtual time advances in steps which start at one millisecond, the resolution of {@link TestScheduler#now()},
+     * and double for as long as no event is received, so that long quiet periods take few steps. The actions due in
+     * each step run in order, each at its own time, but the scheduler may be left past the time of the terminal
+     * event, by no more than the quiet period which preceded it.
+     * </p>
+     *
+     * @param scheduler      the scheduler driving the {@link rx.Observable} under test.
+     * @param maxVirtualTime the maximum amount of virtual time to advance.
+     * @param unit           the unit of <code>maxVirtualTime</code>.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> afterTerminalEvent(final TestScheduler scheduler,
+                                                      final long maxVirtualTime,
+                                                      final TimeUnit unit) {
+        isNotNull();
+        assertThat(scheduler).isNotNull();
+        scheduler.triggerActions();
+        long remainingNanos = unit.toNanos(maxVirtualTime);
+        long stepNanos = VIRTUAL_TIME_STEP_NANOS;
+        int valueCount = actual.getValueCount();
+        while (!hasReceivedTerminalEvent() && remainingNanos > 0) {
+            final long advanceNanos = Math.min(stepNanos, remainingNanos);
+            scheduler.advanceTimeBy(advanceNanos, TimeUnit.NANOSECONDS);
+            remainingNanos -= advanceNanos;
+            final int count = actual.getValueCount();
+            stepNanos = count != valueCount ? VIRTUAL_TIME_STEP_NANOS
+                    : stepNanos > remainingNanos / 2 ? remainingNanos : stepNanos * 2;
+            valueCount = count;
+        }
+        failOnUnmetExpectations();
         return this;
     }
 
@@ -63,7 +121,72 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
      */
     public TestSubscriberAssert<T> afterTerminalEventAndUnsubscribingIfTimeout(final long timeout, final TimeUnit unit) {
         isNotNull();
-        actual.awaitTerminalEventAndUnsubscribeOnTimeout(timeout, unit);
+        awaitTerminalEvent(String.format("afterTerminalEventAndUnsubscribingIfTimeout(%s, %s)", timeout, unit),
+                timeout, unit, true);
+        failOnUnmetExpectations();
+        return this;
+    }
+
+    /**
+     * Waits until an {@link AwaitableTestSubscriber} has received at least <code>count</code> onNext events,
+     * failing if it receives a terminal event or the timeout elapses first.
+     * <p>
+     * See {@link AwaitableTestSubscriber#awaitValues(int, long, TimeUnit)}
+     * </p>
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> afterValueCount(final int count, final long timeout, final TimeUnit unit) {
+        isNotNull();
+        final AwaitableTestSubscriber<?> awaitable = actualAs(AwaitableTestSubscriber.class);
+        final boolean received = AwaitProfiler.await(actual,
+                String.format("afterValueCount(%s, %s, %s)", count, timeout, unit), unit.toNanos(timeout),
+                new Func1<Long, Boolean>() {
+                    @Override
+                    public Boolean call(final Long boundedNanos) {
+                        return boundedNanos == null
+                                ? awaitable.awaitValues(count, timeout, unit)
+                                : awaitable.awaitValues(count, boundedNanos, TimeUnit.NANOSECONDS);
+                    }
+                });
+        if (!received) {
+            failWithMessage(Messages.format("Expected <%s> onNext events within <%s %s>, but received: <%s>.",
+                    count, timeout, unit, awaitable.getValueCount()));
+        }
+        return this;
+    }
+
+    /**
+     * Waits until an {@link AwaitableTestSubscriber} has received an onNext event matching the predicate, failing
+     * if it receives a terminal event or the timeout elapses first.
+     * <p>
+     * See {@link AwaitableTestSubscriber#awaitValueMatching(Func1, long, TimeUnit)}
+     * </p>
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> afterValueMatching(final Func1<? super T, Boolean> predicate,
+                                                      final long timeout,
+                                                      final TimeUnit unit) {
+        isNotNull();
+        assertThat(predicate).isNotNull();
+        @SuppressWarnings("unchecked")
+        final AwaitableTestSubscriber<T> awaitable = actualAs(AwaitableTestSubscriber.class);
+        final boolean matched = AwaitProfiler.await(actual,
+                String.format("afterValueMatching(%s, %s)", timeout, unit), unit.toNanos(timeout),
+                new Func1<Long, Boolean>() {
+                    @Override
+                    public Boolean call(final Long boundedNanos) {
+                        return boundedNanos == null
+                                ? awaitable.awaitValueMatching(predicate, timeout, unit)
+                                : awaitable.awaitValueMatching(predicate, boundedNanos, TimeUnit.NANOSECONDS);
+                    }
+                });
+        if (!matched) {
+            failWithMessage(Messages.format(
+                    "Expected an onNext event matching the predicate within <%s %s>, but none of <%s> received did.",
+                    timeout, unit, awaitable.getValueCount()));
+        }
         return this;
     }
 
@@ -77,32 +200,172 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
     }
 
     /**
-     * See {@link TestSubscriber#assertReceivedOnNext(List)}
+     * As {@link TestSubscriber#assertReceivedOnNext(List)}, but on failure reports the index of the first mismatch,
+     * rendering the values around it within the size cap set by {@link Assertions#setMaxRenderedValuesLength(int)}.
      */
     public TestSubscriberAssert<T> hasReceivedValues(final List<T> values) {
         isNotNull();
-        actual.assertReceivedOnNext(values);
+        assertThat(values).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int mismatch = firstMismatchIndexOf(values, received);
+        if (mismatch >= 0) {
+            failWithMessage(Messages.format(
+                    "Expected onNext events: <%s>, but was: <%s>. First mismatch at index <%s> of <%s> expected and <%s> received.",
+                    Messages.values(values, mismatch), Messages.values(received, mismatch),
+                    mismatch, values.size(), received.size()));
+        }
         return this;
     }
 
     /**
-     * See {@link TestSubscriber#assertReceivedOnNext(List)}
+     * See {@link #hasReceivedValues(List)}
      */
     public TestSubscriberAssert<T> hasReceivedValues(final T... values) {
+        return hasReceivedValues(Arrays.asList(values));
+    }
+
+    /**
+     * Passes when the received onNext values are exactly those of the {@link Iterable}, in order.
+     * <p>
+     * See {@link #hasReceivedValuesFrom(Iterator)}.
+     * </p>
+     */
+    public TestSubscriberAssert<T> hasReceivedValuesFrom(final Iterable<? extends T> values) {
+        isNotNull();
+        assertThat(values).isNotNull();
+        return hasReceivedValuesFrom(values.iterator());
+    }
+
+    /**
+     * Passes when the received onNext values are exactly those remaining in the {@link Iterator}, in order.
+     * <p>
+     * The values are compared in a single lazy pass, without building a list of the expected values, stopping at the
+     * first mismatch. On failure, the index of the mismatch is reported with a few expected and received values
+     * around it.
+     * </p>
+     */
+    public TestSubscriberAssert<T> hasReceivedValuesFrom(final Iterator<? extends T> values) {
         isNotNull();
-        actual.assertValues(values);
+        assertThat(values).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int receivedCount = received.size();
+        final Object[] preceding = new Object[DIFF_CONTEXT];
+        int index = 0;
+        while (values.hasNext()) {
+            final T expected = values.next();
+            if (index >= receivedCount || !Objects.areEqual(expected, received.get(index))) {
+                failWithStreamingMismatch(index, expected, preceding, values, received);
+            }
+            preceding[index % DIFF_CONTEXT] = expected;
+            index++;
+        }
+        if (index < receivedCount) {
+            failWithMessage(Messages.format("Expected <%s> onNext events, but received: <%s>. Received from index <%s>: <%s>.",
+                    index, receivedCount, index,
+                    Messages.values(received.subList(index, Math.min(receivedCount, index + DIFF_CONTEXT)))));
+        }
         return this;
     }
 
     /**
-     * See {@link TestSubscriber#assertValue(Object)}
+     * Passes when the received onNext values are exactly those emitted by the expected {@link Observable}, in order.
+     * <p>
+     * The expected {@link Observable} is consumed lazily, with backpressure, and unsubscribed from at the first
+     * mismatch. See {@link #hasReceivedValuesFrom(Iterator)}.
+     * </p>
      */
-    public TestSubscriberAssert<T> hasReceivedValue(final T value) {
+    public TestSubscriberAssert<T> hasReceivedValuesFrom(final Observable<? extends T> values) {
+        isNotNull();
+        assertThat(values).isNotNull();
+        final Iterator<? extends T> iterator = values.toBlocking().getIterator();
+        try {
+            return hasReceivedValuesFrom(iterator);
+        } finally {
+            if (iterator instanceof Subscription) {
+                ((Subscription) iterator).unsubscribe();
+            }
+        }
+    }
+
+    /**
+     * Passes when the received events match a recording written by {@link Recordings}: the same onNext values in
+     * order, compared with {@link Object#equals(Object)}, then the same onError events, compared by class name and
+     * message, and onCompleted events. Recorded timestamps are not compared.
+     * <p>
+     * The recording is read through a memory-mapped {@link RecordingReader}, so it is never loaded onto the heap.
+     * </p>
+     *
+     * @param file  the recording.
+     * @param codec the {@link ValueCodec} with which the onNext values were recorded.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> matchesRecording(final File file, final ValueCodec<? extends T> codec) {
         isNotNull();
-        actual.assertValue(value);
+        assertThat(file).isNotNull();
+        assertThat(codec).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final List<Throwable> errors = actual.getOnErrorEvents();
+        RecordingReader<T> reader = null;
+        try {
+            reader = new RecordingReader<T>(file, codec);
+            int valueIndex = 0;
+            int errorIndex = 0;
+            int completions = 0;
+            RecordingReader.Event event;
+            while ((event = reader.next()) != null) {
+                if (event == RecordingReader.Event.ON_NEXT) {
+                    if (valueIndex >= received.size()) {
+                        failWithMessage(Messages.format(
+                                "Expected onNext event at index <%s> to match recording: <%s>, but only <%s> were received.",
+                                valueIndex, reader.getValue(), received.size()));
+                    }
+                    final T value = received.get(valueIndex);
+                    if (!Objects.areEqual(reader.getValue(), value)) {
+                        failWithMessage(Messages.format(
+                                "Expected onNext event at index <%s> to match recording: <%s>, but was: <%s>.",
+                                valueIndex, reader.getValue(), value));
+                    }
+                    valueIndex++;
+                } else if (event == RecordingReader.Event.ON_ERROR) {
+                    final Throwable error = errorIndex < errors.size() ? errors.get(errorIndex) : null;
+                    if (error == null
+                            || !error.getClass().getName().equals(reader.getErrorClassName())
+                            || !Objects.areEqual(error.getMessage(), reader.getErrorMessage())) {
+                        failWithMessage(Messages.format("Expected onError event to match recording: <%s: %s>, but was: <%s>.",
+                                reader.getErrorClassName(), reader.getErrorMessage(), error));
+                    }
+                    errorIndex++;
+                } else {
+                    completions++;
+                }
+            }
+            if (valueIndex < received.size()) {
+                failWithMessage(Messages.format("Expected <%s> onNext events to match recording, but received: <%s>.",
+                        valueIndex, received.size()));
+            }
+            if (errorIndex < errors.size()) {
+                failWithMessage(Messages.format("Expected <%s> onError events to match recording, but received: <%s>.",
+                        errorIndex, errors.size()));
+            }
+            if (completions != actual.getCompletions()) {
+                failWithMessage(Messages.format("Expected <%s> onCompleted events to match recording, but received: <%s>.",
+                        completions, actual.getCompletions()));
+            }
+        } catch (IOException e) {
+            failWithMessage(Messages.format("Could not read recording: <%s> (%s).", file, e.getMessage()));
+        } finally {
+            closeQuietly(reader);
+        }
         return this;
     }
 
+    /**
+     * See {@link #hasReceivedValues(List)}
+     */
+    public TestSubscriberAssert<T> hasReceivedValue(final T value) {
+        return hasReceivedValues(Collections.singletonList(value));
+    }
+
     /**
      * Passes when {@link TestSubscriber} has received one or more {@link TestSubscriber#onNext(Object)} events.
      *
@@ -128,7 +391,7 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         assertThat(actualEvents)
                 .overridingErrorMessage("Expected received onNext events not to be empty.")
                 .isNotEmpty()
-                .overridingErrorMessage("Expected a single onNext value, but was: <%s>.", actualEvents)
+                .overridingErrorMessage("Expected a single onNext value, but was: <%s>.", Messages.values(actualEvents))
                 .hasSize(1);
         return this;
     }
@@ -178,7 +441,7 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         isNotNull();
         List<T> received = actual.getOnNextEvents();
         assertThat(received)
-                .overridingErrorMessage("Expected a single onNext value, but was: <%s>.", received)
+                .overridingErrorMessage("Expected a single onNext value, but was: <%s>.", Messages.values(received))
                 .hasSize(1);
         return assertThat(firstValueOf(received));
     }
@@ -215,6 +478,236 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         return assertThat(actual.getOnNextEvents());
     }
 
+    /**
+     * Evaluates the predicates of subsequent {@link #allValuesSatisfy(Func1)}, {@link #noValueSatisfies(Func1)} and
+     * {@link #countOfValuesSatisfying(Func1)} assertions in parallel, splitting the received onNext values across
+     * the available processors. Failures still report the lowest failing index.
+     * <p>
+     * The predicate must be thread-safe, and the subscriber should have terminated.
+     * </p>
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> usingParallelEvaluation() {
+        parallelEvaluation = true;
+        return this;
+    }
+
+    /**
+     * Passes when every received onNext value satisfies the predicate.
+     *
+     * @param predicate the predicate.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> allValuesSatisfy(final Func1<? super T, Boolean> predicate) {
+        isNotNull();
+        assertThat(predicate).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int index = ValueScan.firstIndexOf(received, predicate, false, parallelEvaluation);
+        if (index != ValueScan.NOT_FOUND) {
+            failWithMessage(Messages.format(
+                    "Expected all onNext events to satisfy the predicate, but event at index <%s> of <%s> did not: <%s>.",
+                    index, received.size(), received.get(index)));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no received onNext value satisfies the predicate.
+     *
+     * @param predicate the predicate.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> noValueSatisfies(final Func1<? super T, Boolean> predicate) {
+        isNotNull();
+        assertThat(predicate).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int index = ValueScan.firstIndexOf(received, predicate, true, parallelEvaluation);
+        if (index != ValueScan.NOT_FOUND) {
+            failWithMessage(Messages.format(
+                    "Expected no onNext events to satisfy the predicate, but event at index <%s> of <%s> did: <%s>.",
+                    index, received.size(), received.get(index)));
+        }
+        return this;
+    }
+
+    /**
+     * Returns an {@link AbstractIntegerAssert} for higher order assertions on the number of received onNext values
+     * satisfying the predicate.
+     *
+     * @param predicate the predicate.
+     */
+    public AbstractIntegerAssert<?> countOfValuesSatisfying(final Func1<? super T, Boolean> predicate) {
+        isNotNull();
+        assertThat(predicate).isNotNull();
+        return assertThat(ValueScan.count(actual.getOnNextEvents(), predicate, parallelEvaluation));
+    }
+
+    /**
+     * Makes subsequent duplicate assertions first pass the keys through a Bloom filter, so that only keys which may
+     * repeat are tracked exactly. This takes two passes over the values, extracting each key twice, but the memory
+     * used is around ten bits per value rather than a table entry per value. The result is still exact.
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> usingBloomPreFilter() {
+        bloomPreFilter = true;
+        return this;
+    }
+
+    /**
+     * Passes when no received onNext value is equal to an earlier value.
+     * <p>
+     * Values are tracked by hash and index in primitive arrays, rather than a {@link java.util.HashSet}, so no
+     * entries are allocated. See {@link #usingBloomPreFilter()} for very long streams.
+     * </p>
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasNoDuplicateValues() {
+        isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int[] duplicate = DuplicateFinder.firstDuplicate(received, null, bloomPreFilter);
+        if (duplicate != null) {
+            failWithMessage(Messages.format(
+                    "Expected no duplicate onNext events, but value at index <%s> was equal to the value at index <%s>: <%s>.",
+                    duplicate[1], duplicate[0], received.get(duplicate[1])));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no received onNext value has a key equal to that of an earlier value.
+     * <p>
+     * Only the hash of each key and the index of its value are tracked; keys with equal hashes are re-extracted to
+     * compare them. See {@link #usingBloomPreFilter()} for very long streams.
+     * </p>
+     *
+     * @param keyExtractor the function extracting the key of a value.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasNoDuplicatesBy(final Func1<? super T, ?> keyExtractor) {
+        isNotNull();
+        assertThat(keyExtractor).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int[] duplicate = DuplicateFinder.firstDuplicate(received, keyExtractor, bloomPreFilter);
+        if (duplicate != null) {
+            failDuplicateKey(received, duplicate, keyExtractor.call(received.get(duplicate[1])));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no received onNext value has a long key equal to that of an earlier value. A null key fails the
+     * assertion.
+     * <p>
+     * The keys are tracked in an open-addressing table held off-heap, so they take no space on the Java heap. See
+     * {@link #usingBloomPreFilter()} for very long streams.
+     * </p>
+     * <p>
+     * The table takes 16 to 32 bytes of direct memory per tracked key, which is bounded by
+     * <code>-XX:MaxDirectMemorySize</code>, and tracks at most about 100 million keys.
+     * </p>
+     *
+     * @param keyExtractor the function extracting the non-null long key of a value, such as a sequence number.
+     * @return this {@link TestSubscriberAssert}
+     * @throws IllegalStateException if there are too many keys to track.
+     */
+    public TestSubscriberAssert<T> hasNoDuplicatesByLongKey(final Func1<? super T, Long> keyExtractor) {
+        isNotNull();
+        assertThat(keyExtractor).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int[] duplicate = DuplicateFinder.firstDuplicateLongKey(received, keyExtractor, bloomPreFilter);
+        if (duplicate != null && duplicate[0] == DuplicateFinder.NULL_KEY) {
+            failWithMessage(Messages.format(
+                    "Expected onNext events to have non-null keys, but value at index <%s> did not: <%s>.",
+                    duplicate[1], received.get(duplicate[1])));
+        }
+        if (duplicate != null) {
+            failDuplicateKey(received, duplicate, keyExtractor.call(received.get(duplicate[1])));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received onNext value is greater than or equal to the value before it, according to the
+     * {@link Comparator}. The values are checked in a single pass, without copying or sorting them.
+     *
+     * @param comparator the {@link Comparator} defining the order.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasValuesInOrder(final Comparator<? super T> comparator) {
+        isNotNull();
+        assertThat(comparator).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int count = received.size();
+        for (int i = 1; i < count; i++) {
+            final T previous = received.get(i - 1);
+            final T current = received.get(i);
+            if (comparator.compare(current, previous) < 0) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be in order, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when each received onNext value is strictly greater than the value before it, according to the
+     * {@link Comparator}. The values are checked in a single pass, without copying or sorting them.
+     *
+     * @param comparator the {@link Comparator} defining the order.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasStrictlyIncreasingValues(final Comparator<? super T> comparator) {
+        isNotNull();
+        assertThat(comparator).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int count = received.size();
+        for (int i = 1; i < count; i++) {
+            final T previous = received.get(i - 1);
+            final T current = received.get(i);
+            if (comparator.compare(current, previous) <= 0) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be strictly increasing, but value at index <%s> was: <%s> after: <%s>.",
+                        i, current, previous));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the key of each received onNext value is greater than or equal to the key of the value before it.
+     * Each key is extracted once, and only the previous key is retained. A null key fails the assertion.
+     *
+     * @param keyExtractor the function extracting the non-null {@link Comparable} key of a value, such as its
+     *                     timestamp.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public <K extends Comparable<? super K>> TestSubscriberAssert<T> hasValuesOrderedBy(final Func1<? super T, K> keyExtractor) {
+        isNotNull();
+        assertThat(keyExtractor).isNotNull();
+        final List<T> received = actual.getOnNextEvents();
+        final int count = received.size();
+        K previousKey = null;
+        for (int i = 0; i < count; i++) {
+            final K key = keyExtractor.call(received.get(i));
+            if (key == null) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to have non-null keys, but value at index <%s> did not: <%s>.",
+                        i, received.get(i)));
+            }
+            if (previousKey != null && key.compareTo(previousKey) < 0) {
+                failWithMessage(Messages.format(
+                        "Expected onNext events to be ordered by key, but value at index <%s> with key: <%s> was after key: <%s> (value: <%s>).",
+                        i, key, previousKey, received.get(i)));
+            }
+            previousKey = key;
+        }
+        return this;
+    }
+
     /**
      * See {@link TestSubscriber#assertValueCount(int)}
      */
@@ -278,7 +771,7 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         isNotNull();
         List<? extends Throwable> received = actual.getOnErrorEvents();
         assertThat(received)
-                .overridingErrorMessage("Expected a single onError event, but was: <%s>.", received)
+                .overridingErrorMessage("Expected a single onError event, but was: <%s>.", Messages.values(received))
                 .hasSize(1);
         return assertThat(firstValueOf(received));
     }
@@ -310,6 +803,71 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         return this;
     }
 
+    /**
+     * Passes when a {@link CancellationRecordingTestSubscriber} has received no more than <code>count</code>
+     * events, onNext and terminal, after it was unsubscribed.
+     *
+     * @param count the maximum number of events after unsubscribing.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasAtMostEventsAfterUnsubscribe(final int count) {
+        isNotNull();
+        final int actualCount = actualAs(CancellationRecordingTestSubscriber.class).getEventCountAfterUnsubscribe();
+        if (actualCount > count) {
+            failWithMessage(Messages.format("Expected at most <%s> events after unsubscribing, but was: <%s>.",
+                    count, actualCount));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when a {@link CancellationRecordingTestSubscriber} received no events later than <code>latency</code>
+     * after it was unsubscribed.
+     * <p>
+     * To give a slow upstream the chance to show itself, this blocks until twice <code>latency</code> has passed
+     * since unsubscribing, so any event in the second half of that window fails the assertion. The wait counts
+     * against the budget of an {@link AwaitProfilingRule}.
+     * </p>
+     *
+     * @param latency the inclusive upper bound, of at most <code>Long.MAX_VALUE / 2</code> nanoseconds.
+     * @param unit    the unit of <code>latency</code>.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasStoppedWithin(final long latency, final TimeUnit unit) {
+        isNotNull();
+        assertThat(unit).isNotNull();
+        final long latencyNanos = unit.toNanos(latency);
+        assertThat(latencyNanos).isBetween(0L, Long.MAX_VALUE / 2);
+        final CancellationRecordingTestSubscriber<?> recording = actualAs(CancellationRecordingTestSubscriber.class);
+        if (!recording.hasUnsubscribed()) {
+            failWithMessage("Expected to have been unsubscribed, but was not.");
+        }
+        final long remainingNanos = 2 * latencyNanos - (System.nanoTime() - recording.getUnsubscribedAtNanos());
+        if (remainingNanos > 0) {
+            AwaitProfiler.await(actual, String.format("hasStoppedWithin(%s, %s)", latency, unit), remainingNanos,
+                    new Func1<Long, Boolean>() {
+                        @Override
+                        public Boolean call(final Long boundedNanos) {
+                            final long sleepNanos = boundedNanos == null ? remainingNanos : boundedNanos;
+                            try {
+                                TimeUnit.NANOSECONDS.sleep(sleepNanos);
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                                throw new IllegalStateException("Interrupted", e);
+                            }
+                            return sleepNanos >= remainingNanos;
+                        }
+                    });
+        }
+        final long lastNanos = recording.getLastEventAfterUnsubscribeNanos();
+        if (lastNanos > latencyNanos) {
+            failWithMessage(Messages.format(
+                    "Expected events to stop within <%s %s> of unsubscribing, but <%s> event(s) arrived afterwards, the last after: <%s NANOSECONDS>.",
+                    latency, unit, recording.getEventCountAfterUnsubscribe(), lastNanos));
+        }
+        return this;
+    }
+
     /**
      * Passes when the {@link TestSubscriber}'s last seen thread (refer {@link TestSubscriber#lastSeenThread})
      * is equal to the supplied {@link Thread} parameter.
@@ -326,6 +884,392 @@ public final class TestSubscriberAssert<T> extends AbstractAssert<TestSubscriber
         return this;
     }
 
+    /**
+     * Passes when every event recorded by a {@link ThreadRecordingTestSubscriber} was received on the supplied
+     * {@link Thread}.
+     *
+     * @param thread the expected {@link Thread}
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> wasAlwaysObservedOn(final Thread thread) {
+        isNotNull();
+        final ThreadRecordingTestSubscriber<?> recording = actualAs(ThreadRecordingTestSubscriber.class);
+        final int eventCount = recording.getEventCount();
+        for (int i = 0; i < eventCount; i++) {
+            final Thread eventThread = recording.getEventThread(i);
+            if (!Objects.areEqual(eventThread, thread)) {
+                failWithMessage(Messages.format(
+                        "Expected to always be observed on: <%s>, but event at index <%s> was observed on: <%s>.",
+                        thread, i, eventThread));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when every event recorded by a {@link ThreadRecordingTestSubscriber} was received on a {@link Thread}
+     * matching the predicate.
+     *
+     * @param predicate the predicate, returning true for acceptable threads.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> wasObservedOnThreadsMatching(final Func1<? super Thread, Boolean> predicate) {
+        isNotNull();
+        assertThat(predicate).isNotNull();
+        final ThreadRecordingTestSubscriber<?> recording = actualAs(ThreadRecordingTestSubscriber.class);
+        final int eventCount = recording.getEventCount();
+        for (int i = 0; i < eventCount; i++) {
+            final Thread eventThread = recording.getEventThread(i);
+            if (!Boolean.TRUE.equals(predicate.call(eventThread))) {
+                failWithMessage(Messages.format(
+                        "Expected to be observed on threads matching the predicate, but event at index <%s> was observed on: <%s>.",
+                        i, eventThread));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Passes when consecutive events recorded by a {@link ThreadRecordingTestSubscriber} switched {@link Thread}
+     * no more than <code>count</code> times.
+     *
+     * @param count the maximum number of thread hops.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasThreadHopCountAtMost(final int count) {
+        isNotNull();
+        final ThreadRecordingTestSubscriber<?> recording = actualAs(ThreadRecordingTestSubscriber.class);
+        final int hops = recording.getThreadHopCount();
+        if (hops > count) {
+            failWithMessage(Messages.format("Expected at most <%s> thread hops, but was: <%s> (threads: <%s>).",
+                    count, hops, Messages.values(recording.getThreads())));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no events recorded by a {@link SerializationCheckingTestSubscriber} overlapped, as required by the
+     * Observable contract.
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasSerializedEmissions() {
+        isNotNull();
+        final SerializationCheckingTestSubscriber<?> checking = actualAs(SerializationCheckingTestSubscriber.class);
+        final SerializationCheckingTestSubscriber.Violation violation = checking.getFirstViolation();
+        if (violation != null) {
+            failWithMessage(Messages.format(
+                    "Expected serialized emissions, but <%s> event(s) overlapped. First, event at index <%s> on: <%s> overlapped event at index <%s> on: <%s>.",
+                    checking.getViolationCount(),
+                    violation.getEventIndex(), violation.getThread(),
+                    violation.getInFlightEventIndex(), violation.getInFlightThread()));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the {@link ExpectingTestSubscriber} has not recorded a failure to meet its expectations.
+     * <p>
+     * Fails immediately, with the message recorded at the first bad event, when an expectation has failed.
+     * </p>
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasMetExpectations() {
+        isNotNull();
+        actualAs(ExpectingTestSubscriber.class);
+        failOnUnmetExpectations();
+        return this;
+    }
+
+    /**
+     * Passes when the given percentile of the time between consecutive onNext events, as recorded by a
+     * {@link TimedTestSubscriber}, is below the provided latency.
+     *
+     * @param percentile the percentile, between 0 and 100.
+     * @param latency    the exclusive upper bound.
+     * @param unit       the unit of <code>latency</code>.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasInterArrivalLatencyPercentileBelow(final double percentile,
+                                                                         final long latency,
+                                                                         final TimeUnit unit) {
+        isNotNull();
+        final LatencyHistogram histogram = actualAs(TimedTestSubscriber.class).getInterArrivalHistogram();
+        if (histogram.getTotalCount() == 0) {
+            failWithMessage("Expected at least two onNext events to measure inter-arrival latency.");
+        }
+        final long actualNanos = histogram.getValueAtPercentile(percentile);
+        if (actualNanos >= unit.toNanos(latency)) {
+            failWithMessage(Messages.format(
+                    "Expected the <%s>th percentile inter-arrival latency to be below <%s %s>, but was: <%s NANOSECONDS>.",
+                    percentile, latency, unit, actualNanos));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the time from subscription to the first onNext event, as recorded by a
+     * {@link TimedTestSubscriber}, is below the provided latency.
+     *
+     * @param latency the exclusive upper bound.
+     * @param unit    the unit of <code>latency</code>.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasTimeToFirstValueBelow(final long latency, final TimeUnit unit) {
+        isNotNull();
+        final TimedTestSubscriber<?> timed = actualAs(TimedTestSubscriber.class);
+        if (timed.getOnNextEvents().isEmpty()) {
+            failWithMessage("Expected received onNext events not to be empty.");
+        }
+        final long actualNanos = timed.getOnNextTimestampNanos(0) - timed.getSubscribedAtNanos();
+        if (actualNanos >= unit.toNanos(latency)) {
+            failWithMessage(Messages.format(
+                    "Expected the time to first onNext event to be below <%s %s>, but was: <%s NANOSECONDS>.",
+                    latency, unit, actualNanos));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the time from subscription to the terminal event, as recorded by a {@link TimedTestSubscriber},
+     * is below the provided latency.
+     *
+     * @param latency the exclusive upper bound.
+     * @param unit    the unit of <code>latency</code>.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasTimeToTerminalEventBelow(final long latency, final TimeUnit unit) {
+        isNotNull();
+        final TimedTestSubscriber<?> timed = actualAs(TimedTestSubscriber.class);
+        if (!timed.hasTerminated()) {
+            failWithMessage("Expected a terminal event to measure the time to it.");
+        }
+        final long actualNanos = timed.getTerminatedAtNanos() - timed.getSubscribedAtNanos();
+        if (actualNanos >= unit.toNanos(latency)) {
+            failWithMessage(Messages.format(
+                    "Expected the time to terminal event to be below <%s %s>, but was: <%s NANOSECONDS>.",
+                    latency, unit, actualNanos));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the onNext event rate, from subscription to the terminal event as recorded by a
+     * {@link TimedTestSubscriber}, is at least <code>events</code> per <code>unit</code>.
+     *
+     * @param events the minimum number of events.
+     * @param unit   the period in which the events are counted.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasThroughputAtLeast(final long events, final TimeUnit unit) {
+        return hasThroughputAtLeast(events, unit, 0);
+    }
+
+    /**
+     * Passes when the onNext event rate, as recorded by a {@link TimedTestSubscriber}, is at least
+     * <code>events</code> per <code>unit</code>, measured after the first <code>warmupEvents</code> events.
+     * <p>
+     * The measurement runs from the last warmup event (or subscription when there is no warmup) until the terminal
+     * event.
+     * </p>
+     *
+     * @param events       the minimum number of events.
+     * @param unit         the period in which the events are counted.
+     * @param warmupEvents the number of leading events to exclude.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasThroughputAtLeast(final long events, final TimeUnit unit, final int warmupEvents) {
+        isNotNull();
+        if (warmupEvents < 0) {
+            throw new IllegalArgumentException("warmupEvents must not be negative: " + warmupEvents);
+        }
+        final TimedTestSubscriber<?> timed = actualAs(TimedTestSubscriber.class);
+        if (!timed.hasTerminated()) {
+            failWithMessage("Expected a terminal event to measure throughput.");
+        }
+        final int measured = timed.getOnNextEvents().size() - warmupEvents;
+        if (measured <= 0) {
+            failWithMessage(Messages.format("Expected onNext events after <%s> warmup events, but received: <%s>.",
+                    warmupEvents, timed.getOnNextEvents().size()));
+        }
+        final long start = warmupEvents == 0
+                ? timed.getSubscribedAtNanos()
+                : timed.getOnNextTimestampNanos(warmupEvents - 1);
+        final long elapsedNanos = Math.max(1, timed.getTerminatedAtNanos() - start);
+        final double throughput = (double) measured * unit.toNanos(1) / elapsedNanos;
+        if (throughput < events) {
+            failWithMessage(Messages.format(
+                    "Expected throughput of at least <%s> events per <%s>, but was: <%.1f> (<%s> events in <%s NANOSECONDS>).",
+                    events, unit, throughput, measured, elapsedNanos));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no onNext event was delivered beyond the amount requested at the time, as recorded by a
+     * {@link RequestRecordingTestSubscriber}.
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> neverExceededRequested() {
+        isNotNull();
+        final RequestRecordingTestSubscriber<?> recording = actualAs(RequestRecordingTestSubscriber.class);
+        final long overrunIndex = recording.getFirstOverrunIndex();
+        if (overrunIndex >= 0) {
+            failWithMessage(Messages.format(
+                    "Expected onNext events not to exceed the amount requested, but onNext event at index <%s> exceeded it (requests: <%s>).",
+                    overrunIndex, Messages.values(recording.getRequestBatchSizes())));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the total amount requested, as recorded by a {@link RequestRecordingTestSubscriber}, is equal to
+     * the provided value.
+     *
+     * @param total the expected total requested.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasRequestedTotal(final long total) {
+        isNotNull();
+        final long actualTotal = actualAs(RequestRecordingTestSubscriber.class).getRequestedTotal();
+        if (actualTotal != total) {
+            failWithMessage(Messages.format("Expected a total of <%s> requested, but was: <%s>.", total, actualTotal));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when no unbounded request, of {@link Long#MAX_VALUE}, was made, as recorded by a
+     * {@link RequestRecordingTestSubscriber}.
+     *
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> neverRequestedUnbounded() {
+        isNotNull();
+        final RequestRecordingTestSubscriber<?> recording = actualAs(RequestRecordingTestSubscriber.class);
+        if (recording.wasRequestedUnbounded()) {
+            failWithMessage(Messages.format("Expected no unbounded request, but requests were: <%s>.",
+                    Messages.values(recording.getRequestBatchSizes())));
+        }
+        return this;
+    }
+
+    /**
+     * Passes when the amounts requested, as recorded by a {@link RequestRecordingTestSubscriber}, are exactly the
+     * provided values, in order.
+     *
+     * @param sizes the expected request amounts.
+     * @return this {@link TestSubscriberAssert}
+     */
+    public TestSubscriberAssert<T> hasRequestBatchSizes(final long... sizes) {
+        isNotNull();
+        final RequestRecordingTestSubscriber<?> recording = actualAs(RequestRecordingTestSubscriber.class);
+        final List<Long> actualSizes = recording.getRequestBatchSizes();
+        boolean equal = actualSizes.size() == sizes.length;
+        for (int i = 0; equal && i < sizes.length; i++) {
+            equal = actualSizes.get(i) == sizes[i];
+        }
+        if (!equal) {
+            failWithMessage(Messages.format("Expected request amounts: <%s>, but was: <%s>.",
+                    Arrays.toString(sizes), Messages.values(actualSizes)));
+        }
+        return this;
+    }
+
+    // A timeout of AwaitProfiler.UNBOUNDED waits indefinitely, unless cut short by the profiler's budget.
+    private void awaitTerminalEvent(final String description,
+                                    final long timeout,
+                                    final TimeUnit unit,
+                                    final boolean unsubscribeOnTimeout) {
+        AwaitProfiler.await(actual, description, unit.toNanos(timeout), new Func1<Long, Boolean>() {
+            @Override
+            public Boolean call(final Long boundedNanos) {
+                final long awaitTimeout = boundedNanos == null ? timeout : boundedNanos;
+                final TimeUnit awaitUnit = boundedNanos == null ? unit : TimeUnit.NANOSECONDS;
+                if (awaitTimeout == AwaitProfiler.UNBOUNDED) {
+                    actual.awaitTerminalEvent();
+                } else if (unsubscribeOnTimeout) {
+                    actual.awaitTerminalEventAndUnsubscribeOnTimeout(awaitTimeout, awaitUnit);
+                } else {
+                    actual.awaitTerminalEvent(awaitTimeout, awaitUnit);
+                }
+                return hasReceivedTerminalEvent();
+            }
+        });
+    }
+
+    private boolean hasReceivedTerminalEvent() {
+        return actual.getCompletions() > 0 || !actual.getOnErrorEvents().isEmpty();
+    }
+
+    private void failOnUnmetExpectations() {
+        if (actual instanceof ExpectingTestSubscriber) {
+            final AssertionError failure = ((ExpectingTestSubscriber<T>) actual).getExpectationFailure();
+            if (failure != null) {
+                failWithMessage(Messages.format("%s", failure.getMessage()));
+            }
+        }
+    }
+
+    private <S extends TestSubscriber<?>> S actualAs(final Class<S> type) {
+        if (!type.isInstance(actual)) {
+            failWithMessage(Messages.format("Expected an instance of %s, but was: <%s>.", type.getSimpleName(), actual));
+        }
+        return type.cast(actual);
+    }
+
+    private void failWithStreamingMismatch(final int index,
+                                           final T expected,
+                                           final Object[] preceding,
+                                           final Iterator<? extends T> remaining,
+                                           final List<T> received) {
+        final int from = Math.max(0, index - DIFF_CONTEXT);
+        final List<Object> expectedWindow = new ArrayList<Object>();
+        for (int i = from; i < index; i++) {
+            expectedWindow.add(preceding[i % DIFF_CONTEXT]);
+        }
+        expectedWindow.add(expected);
+        for (int i = 0; i < DIFF_CONTEXT && remaining.hasNext(); i++) {
+            expectedWindow.add(remaining.next());
+        }
+        final int receivedCount = received.size();
+        final List<T> receivedWindow = received.subList(Math.min(from, receivedCount),
+                Math.min(receivedCount, index + DIFF_CONTEXT + 1));
+        failWithMessage(Messages.format(
+                "Expected onNext event at index <%s> to be: <%s>, but %s. Expected from index <%s>: <%s>, but received: <%s>.",
+                index, expected,
+                index < receivedCount ? "was: <" + received.get(index) + ">" : "only <" + receivedCount + "> were received",
+                from, Messages.values(expectedWindow), Messages.values(receivedWindow)));
+    }
+
+    private void failDuplicateKey(final List<T> received, final int[] duplicate, final Object key) {
+        failWithMessage(Messages.format(
+                "Expected no duplicate keys, but value at index <%s>: <%s> had the same key: <%s> as the value at index <%s>: <%s>.",
+                duplicate[1], received.get(duplicate[1]), key, duplicate[0], received.get(duplicate[0])));
+    }
+
+    private static void closeQuietly(final Closeable closeable) {
+        if (closeable != null) {
+            try {
+                closeable.close();
+            } catch (IOException ignored) {
+                // Nothing more to release.
+            }
+        }
+    }
+
+    private static int firstMismatchIndexOf(final List<?> expected, final List<?> received) {
+        final int common = Math.min(expected.size(), received.size());
+        for (int i = 0; i < common; i++) {
+            if (!Objects.areEqual(expected.get(i), received.get(i))) {
+                return i;
+            }
+        }
+        return expected.size() == received.size() ? -1 : common;
+    }
+
     private static <T> T firstValueOf(List<T> received) {
         return received.get(0);
     }
@@ -0,0 +1,192 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.assertj.core.api.AbstractAssert;
+import rx.functions.Action1;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Assertions applied in parallel to many {@link TestSubscriber}s, such as those subscribed to a shared hot
+ * {@link rx.Observable}.
+ * <p>
+ * The same chain of {@link TestSubscriberAssert} checks is run against every subscriber, and every failure is
+ * collected, so that a single {@link AssertionError} reports all failing subscribers rather than only the first.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public final class TestSubscribersAssert<T> extends AbstractAssert<TestSubscribersAssert<T>, List<TestSubscriber<T>>> {
+
+    private static final long NO_DEADLINE = -1;
+
+    private ExecutorService executor;
+    private long deadlineNanos = NO_DEADLINE;
+
+    TestSubscribersAssert(final List<TestSubscriber<T>> actual, final Class<?> selfType) {
+        super(actual, selfType);
+    }
+
+    /**
+     * Runs the checks on the supplied {@link ExecutorService} instead of a pool sized to the available processors,
+     * which is created and shut down for each {@link #allSatisfy(Action1)}.
+     *
+     * @param executor the {@link ExecutorService}, which is not shut down.
+     * @return this {@link TestSubscribersAssert}
+     */
+    public TestSubscribersAssert<T> usingExecutor(final ExecutorService executor) {
+        assertThat(executor).isNotNull();
+        this.executor = executor;
+        return this;
+    }
+
+    /**
+     * Makes each subscriber await its terminal event before its checks are run, with a single deadline, starting
+     * now, shared by all subscribers. Subscribers which have not terminated by the deadline are checked anyway.
+     *
+     * @param timeout the time until the deadline.
+     * @param unit    the {@link TimeUnit} of the timeout.
+     * @return this {@link TestSubscribersAssert}
+     */
+    public TestSubscribersAssert<T> afterTerminalEvent(final long timeout, final TimeUnit unit) {
+        deadlineNanos = System.nanoTime() + unit.toNanos(timeout);
+        return this;
+    }
+
+    /**
+     * Runs the checks against a {@link TestSubscriberAssert} of every subscriber, in parallel, failing with every
+     * {@link AssertionError} raised, grouped by message, if any subscribers fail.
+     *
+     * @param checks the chain of {@link TestSubscriberAssert} checks.
+     * @return this {@link TestSubscribersAssert}
+     */
+    public TestSubscribersAssert<T> allSatisfy(final Action1<? super TestSubscriberAssert<T>> checks) {
+        isNotNull();
+        assertThat(checks).isNotNull();
+        final int count = actual.size();
+        final AtomicReferenceArray<String> failures = new AtomicReferenceArray<String>(count);
+        final int workers = Math.max(1, Math.min(count, Runtime.getRuntime().availableProcessors()));
+        final ExecutorService pool = executor != null ? executor : newPool(workers);
+        try {
+            final AtomicInteger next = new AtomicInteger();
+            final CountDownLatch done = new CountDownLatch(workers);
+            for (int w = 0; w < workers; w++) {
+                pool.execute(AwaitProfiler.propagating(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            int index;
+                            while ((index = next.getAndIncrement()) < count) {
+                                failures.set(index, check(index, checks));
+                            }
+                        } finally {
+                            done.countDown();
+                        }
+                    }
+                }));
+            }
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        } finally {
+            if (pool != executor) {
+                pool.shutdownNow();
+            }
+        }
+        failOnFailures(failures);
+        return this;
+    }
+
+    private String check(final int index, final Action1<? super TestSubscriberAssert<T>> checks) {
+        final TestSubscriber<T> subscriber = actual.get(index);
+        try {
+            if (deadlineNanos != NO_DEADLINE) {
+                final long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+                AwaitProfiler.await(subscriber, String.format("afterTerminalEvent of the subscriber at index <%s>", index),
+                        remainingNanos, new Func1<Long, Boolean>() {
+                            @Override
+                            public Boolean call(final Long boundedNanos) {
+                                subscriber.awaitTerminalEvent(boundedNanos == null ? remainingNanos : boundedNanos,
+                                        TimeUnit.NANOSECONDS);
+                                return subscriber.getCompletions() > 0 || !subscriber.getOnErrorEvents().isEmpty();
+                            }
+                        });
+            }
+            checks.call(new TestSubscriberAssert<T>(subscriber, TestSubscriberAssert.class));
+            return null;
+        } catch (AssertionError e) {
+            return String.valueOf(e.getMessage()).trim();
+        } catch (Throwable e) {
+            // Anything else thrown must still count as a failure, and must not end the worker early.
+            return e.toString();
+        }
+    }
+
+    private void failOnFailures(final AtomicReferenceArray<String> failures) {
+        final Map<String, List<Integer>> indexesByMessage = new LinkedHashMap<String, List<Integer>>();
+        int failed = 0;
+        for (int i = 0; i < failures.length(); i++) {
+            final String message = failures.get(i);
+            if (message != null) {
+                List<Integer> indexes = indexesByMessage.get(message);
+                if (indexes == null) {
+                    indexes = new ArrayList<Integer>();
+                    indexesByMessage.put(message, indexes);
+                }
+                indexes.add(i);
+                failed++;
+            }
+        }
+        if (failed > 0) {
+            final StringBuilder details = new StringBuilder();
+            for (Map.Entry<String, List<Integer>> entry : indexesByMessage.entrySet()) {
+                details.append(String.format("%n  subscribers at indexes <%s>: %s", Messages.values(entry.getValue()), entry.getKey()));
+            }
+            failWithMessage(Messages.format("Expected all <%s> subscribers to satisfy the checks, but <%s> failed:%s",
+                    failures.length(), failed, details));
+        }
+    }
+
+    private static ExecutorService newPool(final int threads) {
+        return Executors.newFixedThreadPool(threads, new ThreadFactory() {
+            private final AtomicInteger created = new AtomicInteger();
+
+            @Override
+            public Thread newThread(final Runnable runnable) {
+                final Thread thread = new Thread(runnable, "assert-rx-all-" + created.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+}
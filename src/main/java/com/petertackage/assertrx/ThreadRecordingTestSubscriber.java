@@ -0,0 +1,130 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.observers.TestSubscriber;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A {@link TestSubscriber} which records the {@link Thread} on which every event, onNext and terminal, was received,
+ * rather than only the last one.
+ * <p>
+ * Each event is stored as a compact index into a table of the distinct threads seen, held in a primitive array, so
+ * recording costs an array write per event. The events are indexed in arrival order, with the terminal event, if
+ * any, last.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class ThreadRecordingTestSubscriber<T> extends TestSubscriber<T> {
+
+    private final List<Thread> threads = new ArrayList<Thread>();
+    private int[] eventThreads = new int[16];
+    private volatile int eventCount;
+    private Thread lastThread;
+    private int lastThreadIndex;
+
+    public ThreadRecordingTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public ThreadRecordingTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    @Override
+    public void onNext(final T value) {
+        recordThread();
+        super.onNext(value);
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        recordThread();
+        super.onError(e);
+    }
+
+    @Override
+    public void onCompleted() {
+        recordThread();
+        super.onCompleted();
+    }
+
+    /**
+     * @return the number of events recorded.
+     */
+    public int getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * @param index the index of the event, in arrival order.
+     * @return the {@link Thread} on which the event was received.
+     */
+    public Thread getEventThread(final int index) {
+        if (index < 0 || index >= eventCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", event count: " + eventCount);
+        }
+        return threads.get(eventThreads[index]);
+    }
+
+    /**
+     * @return the distinct threads on which events were received, in the order first seen.
+     */
+    public List<Thread> getThreads() {
+        return new ArrayList<Thread>(threads);
+    }
+
+    /**
+     * @return the number of times consecutive events were received on different threads.
+     */
+    public int getThreadHopCount() {
+        final int count = eventCount;
+        int hops = 0;
+        for (int i = 1; i < count; i++) {
+            if (eventThreads[i] != eventThreads[i - 1]) {
+                hops++;
+            }
+        }
+        return hops;
+    }
+
+    private void recordThread() {
+        final Thread current = Thread.currentThread();
+        if (current != lastThread) {
+            int index = threads.indexOf(current);
+            if (index < 0) {
+                index = threads.size();
+                threads.add(current);
+            }
+            lastThread = current;
+            lastThreadIndex = index;
+        }
+        final int count = eventCount;
+        if (count == eventThreads.length) {
+            eventThreads = Arrays.copyOf(eventThreads, count * 2);
+        }
+        eventThreads[count] = lastThreadIndex;
+        eventCount = count + 1;
+    }
+
+}
@@ -0,0 +1,134 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.observers.TestSubscriber;
+
+import java.util.Arrays;
+
+/**
+ * A {@link TestSubscriber} which also records when each event arrives, using {@link System#nanoTime()}.
+ * <p>
+ * The onNext timestamps are held in a primitive array parallel to {@link #getOnNextEvents()}, and the gaps between
+ * them are counted in a fixed size {@link LatencyHistogram}. This enables the timing assertions of
+ * {@link TestSubscriberAssert}, such as
+ * {@link TestSubscriberAssert#hasInterArrivalLatencyPercentileBelow(double, long, java.util.concurrent.TimeUnit)}.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public class TimedTestSubscriber<T> extends TestSubscriber<T> {
+
+    private static final long NOT_SET = -1;
+
+    private final LatencyHistogram interArrivalHistogram = new LatencyHistogram();
+    private long[] timestamps = new long[16];
+    private int timestampCount;
+    private volatile long subscribedAt = NOT_SET;
+    private volatile long terminatedAt = NOT_SET;
+
+    public TimedTestSubscriber() {
+        super();
+    }
+
+    /**
+     * @param initialRequest the initial request amount.
+     */
+    public TimedTestSubscriber(final long initialRequest) {
+        super(initialRequest);
+    }
+
+    @Override
+    public void onStart() {
+        subscribedAt = System.nanoTime();
+        super.onStart();
+    }
+
+    @Override
+    public void onNext(final T value) {
+        final long now = System.nanoTime();
+        if (timestampCount == timestamps.length) {
+            timestamps = Arrays.copyOf(timestamps, timestamps.length * 2);
+        }
+        if (timestampCount > 0) {
+            interArrivalHistogram.record(now - timestamps[timestampCount - 1]);
+        }
+        timestamps[timestampCount++] = now;
+        super.onNext(value);
+    }
+
+    @Override
+    public void onError(final Throwable e) {
+        terminatedAt = System.nanoTime();
+        super.onError(e);
+    }
+
+    @Override
+    public void onCompleted() {
+        terminatedAt = System.nanoTime();
+        super.onCompleted();
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which this subscriber was subscribed.
+     * @throws IllegalStateException if not yet subscribed.
+     */
+    public long getSubscribedAtNanos() {
+        final long time = subscribedAt;
+        if (time == NOT_SET) {
+            throw new IllegalStateException("Not subscribed.");
+        }
+        return time;
+    }
+
+    /**
+     * @return true if a terminal event has been received.
+     */
+    public boolean hasTerminated() {
+        return terminatedAt != NOT_SET;
+    }
+
+    /**
+     * @return the {@link System#nanoTime()} at which the terminal event was received.
+     * @throws IllegalStateException if no terminal event has been received.
+     */
+    public long getTerminatedAtNanos() {
+        final long time = terminatedAt;
+        if (time == NOT_SET) {
+            throw new IllegalStateException("No terminal event received.");
+        }
+        return time;
+    }
+
+    /**
+     * @param index the index of the onNext event.
+     * @return the {@link System#nanoTime()} at which the onNext event was received.
+     */
+    public long getOnNextTimestampNanos(final int index) {
+        if (index < 0 || index >= timestampCount) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", value count: " + timestampCount);
+        }
+        return timestamps[index];
+    }
+
+    /**
+     * @return the histogram of the time between consecutive onNext events.
+     */
+    public LatencyHistogram getInterArrivalHistogram() {
+        return interArrivalHistogram;
+    }
+
+}
@@ -0,0 +1,127 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.plugins.RxJavaHooks;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Tracks, through {@link RxJavaHooks}, weak references to the subscribers created and the actions scheduled while it
+ * is installed, so that whatever is still reachable once a subscription has ended can be reported.
+ * <p>
+ * The hooks are global; anything subscribed on any thread while installed is tracked. Any hooks already set are
+ * chained, and restored on {@link #uninstall()}.
+ * </p>
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class UpstreamTracker {
+
+    private final List<WeakReference<Object>> references = new ArrayList<WeakReference<Object>>();
+    private final List<String> descriptions = new ArrayList<String>();
+
+    private Func2<Observable, Observable.OnSubscribe, Observable.OnSubscribe> previousOnStart;
+    private Func1<Observable.Operator, Observable.Operator> previousOnLift;
+    private Func1<Action0, Action0> previousOnScheduleAction;
+
+    void install() {
+        if (RxJavaHooks.isLockdown()) {
+            throw new IllegalStateException("RxJavaHooks are locked down; upstream objects cannot be tracked.");
+        }
+        previousOnStart = RxJavaHooks.getOnObservableStart();
+        previousOnLift = RxJavaHooks.getOnObservableLift();
+        previousOnScheduleAction = RxJavaHooks.getOnScheduleAction();
+
+        RxJavaHooks.setOnObservableStart(new Func2<Observable, Observable.OnSubscribe, Observable.OnSubscribe>() {
+            @Override
+            public Observable.OnSubscribe call(final Observable observable, final Observable.OnSubscribe onSubscribe) {
+                final Observable.OnSubscribe actual = previousOnStart != null
+                        ? previousOnStart.call(observable, onSubscribe)
+                        : onSubscribe;
+                return new Observable.OnSubscribe() {
+                    @Override
+                    public void call(final Object subscriber) {
+                        track(subscriber, " subscribed to " + onSubscribe.getClass().getName());
+                        actual.call(subscriber);
+                    }
+                };
+            }
+        });
+        RxJavaHooks.setOnObservableLift(new Func1<Observable.Operator, Observable.Operator>() {
+            @Override
+            public Observable.Operator call(final Observable.Operator operator) {
+                final Observable.Operator actual = previousOnLift != null ? previousOnLift.call(operator) : operator;
+                return new Observable.Operator() {
+                    @Override
+                    public Object call(final Object child) {
+                        final Subscriber parent = (Subscriber) actual.call(child);
+                        track(parent, " created by " + operator.getClass().getName());
+                        return parent;
+                    }
+                };
+            }
+        });
+        RxJavaHooks.setOnScheduleAction(new Func1<Action0, Action0>() {
+            @Override
+            public Action0 call(final Action0 action) {
+                final Action0 actual = previousOnScheduleAction != null ? previousOnScheduleAction.call(action) : action;
+                track(actual, " scheduled on " + Thread.currentThread().getName());
+                return actual;
+            }
+        });
+    }
+
+    void uninstall() {
+        RxJavaHooks.setOnObservableStart(previousOnStart);
+        RxJavaHooks.setOnObservableLift(previousOnLift);
+        RxJavaHooks.setOnScheduleAction(previousOnScheduleAction);
+    }
+
+    /**
+     * @return the number of objects tracked.
+     */
+    synchronized int getTrackedCount() {
+        return references.size();
+    }
+
+    /**
+     * @return descriptions of the tracked objects which have not been garbage collected, in the order tracked.
+     */
+    synchronized List<String> getReachable() {
+        final List<String> reachable = new ArrayList<String>();
+        for (int i = 0; i < references.size(); i++) {
+            if (references.get(i).get() != null) {
+                reachable.add(descriptions.get(i));
+            }
+        }
+        return reachable;
+    }
+
+    private synchronized void track(final Object object, final String origin) {
+        if (object != null) {
+            references.add(new WeakReference<Object>(object));
+            descriptions.add(object.getClass().getName() + origin);
+        }
+    }
+
+}
@@ -0,0 +1,52 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * Encodes onNext values in a recording written by {@link Recordings}, and decodes them when it is read by a
+ * {@link RecordingReader}.
+ * <p>
+ * Values are written through a buffered {@link DataOutput}, and read back from a memory-mapped {@link ByteBuffer},
+ * which is in big-endian order like {@link DataOutput}. See {@link ValueCodecs} for codecs of common types.
+ * </p>
+ *
+ * @param <T> the value type.
+ */
+public interface ValueCodec<T> {
+
+    /**
+     * Writes a value.
+     *
+     * @param value the value.
+     * @param out   the output to write to.
+     * @throws IOException if the value could not be written.
+     */
+    void write(T value, DataOutput out) throws IOException;
+
+    /**
+     * Reads a value previously written by {@link #write(Object, DataOutput)}, advancing the buffer's position past
+     * it.
+     *
+     * @param in the buffer to read from.
+     * @return the value.
+     */
+    T read(ByteBuffer in);
+
+}
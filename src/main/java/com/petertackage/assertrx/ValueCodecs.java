@@ -0,0 +1,137 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.Charset;
+
+/**
+ * {@link ValueCodec}s for common value types.
+ */
+public final class ValueCodecs {
+
+    private static final Charset UTF_8 = Charset.forName("UTF-8");
+    private static final int NULL_LENGTH = -1;
+
+    private static final ValueCodec<Integer> INTEGERS = new ValueCodec<Integer>() {
+        @Override
+        public void write(final Integer value, final DataOutput out) throws IOException {
+            out.writeInt(value);
+        }
+
+        @Override
+        public Integer read(final ByteBuffer in) {
+            return in.getInt();
+        }
+    };
+
+    private static final ValueCodec<Long> LONGS = new ValueCodec<Long>() {
+        @Override
+        public void write(final Long value, final DataOutput out) throws IOException {
+            out.writeLong(value);
+        }
+
+        @Override
+        public Long read(final ByteBuffer in) {
+            return in.getLong();
+        }
+    };
+
+    private static final ValueCodec<Double> DOUBLES = new ValueCodec<Double>() {
+        @Override
+        public void write(final Double value, final DataOutput out) throws IOException {
+            out.writeDouble(value);
+        }
+
+        @Override
+        public Double read(final ByteBuffer in) {
+            return in.getDouble();
+        }
+    };
+
+    private static final ValueCodec<String> STRINGS = new ValueCodec<String>() {
+        @Override
+        public void write(final String value, final DataOutput out) throws IOException {
+            writeString(value, out);
+        }
+
+        @Override
+        public String read(final ByteBuffer in) {
+            return readString(in);
+        }
+    };
+
+    /**
+     * @return a {@link ValueCodec} writing each non-null {@link Integer} as four bytes.
+     */
+    public static ValueCodec<Integer> integers() {
+        return INTEGERS;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing each non-null {@link Long} as eight bytes.
+     */
+    public static ValueCodec<Long> longs() {
+        return LONGS;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing each non-null {@link Double} as eight bytes.
+     */
+    public static ValueCodec<Double> doubles() {
+        return DOUBLES;
+    }
+
+    /**
+     * @return a {@link ValueCodec} writing each {@link String}, which may be null, as its length and UTF-8 bytes.
+     */
+    public static ValueCodec<String> strings() {
+        return STRINGS;
+    }
+
+    static void writeString(final String value, final DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        final byte[] bytes = value.getBytes(UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * @throws IllegalArgumentException if the length prefix is negative, or longer than the remaining bytes.
+     */
+    static String readString(final ByteBuffer in) {
+        final int length = in.getInt();
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Malformed string length: " + length + " at byte " + (in.position() - 4)
+                    + ", with " + in.remaining() + " bytes remaining");
+        }
+        final byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, UTF_8);
+    }
+
+    private ValueCodecs() {
+        throw new AssertionError("No instances.");
+    }
+}
@@ -0,0 +1,222 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import rx.functions.Func1;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Evaluates a predicate over a list of values, optionally splitting the list into blocks evaluated in parallel.
+ * <p>
+ * Blocks are claimed in ascending order, and each is scanned in order, so the lowest matching index is found
+ * deterministically; workers stop claiming blocks which start after a match already found. A predicate which throws
+ * ends the scan as a match would, and its exception is rethrown only if no lower index matched, as in a sequential
+ * scan.
+ * </p>
+ */
+final class ValueScan {
+
+    static final int NOT_FOUND = -1;
+
+    private static final int MIN_PARALLEL_SIZE = 1024;
+    private static final int BLOCKS_PER_WORKER = 8;
+
+    private static final ExecutorService POOL = Executors.newCachedThreadPool(new ThreadFactory() {
+        private final AtomicInteger created = new AtomicInteger();
+
+        @Override
+        public Thread newThread(final Runnable runnable) {
+            final Thread thread = new Thread(runnable, "assert-rx-scan-" + created.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    /**
+     * @return the lowest index of a value for which the predicate returns <code>expected</code>, or
+     * {@link #NOT_FOUND}.
+     */
+    static <T> int firstIndexOf(final List<T> values,
+                                final Func1<? super T, Boolean> predicate,
+                                final boolean expected,
+                                final boolean parallel) {
+        return firstIndexOf(values, predicate, expected, workersFor(values.size(), parallel));
+    }
+
+    static <T> int firstIndexOf(final List<T> values,
+                                final Func1<? super T, Boolean> predicate,
+                                final boolean expected,
+                                final int workers) {
+        final int size = values.size();
+        final AtomicInteger lowest = new AtomicInteger(Integer.MAX_VALUE);
+        final AtomicReference<IndexedFailure> lowestFailure = new AtomicReference<IndexedFailure>();
+        run(size, workers, new Block() {
+            @Override
+            public boolean scan(final int from, final int to) {
+                for (int i = from; i < to && i < lowest.get(); i++) {
+                    final boolean matched;
+                    try {
+                        matched = Boolean.TRUE.equals(predicate.call(values.get(i))) == expected;
+                    } catch (Throwable t) {
+                        setIfLower(lowestFailure, new IndexedFailure(i, t));
+                        setIfLower(lowest, i);
+                        return false;
+                    }
+                    if (matched) {
+                        setIfLower(lowest, i);
+                        return false;
+                    }
+                }
+                return to < lowest.get();
+            }
+        });
+        final int index = lowest.get();
+        final IndexedFailure failure = lowestFailure.get();
+        if (failure != null && failure.index == index) {
+            rethrow(failure.error);
+        }
+        return index == Integer.MAX_VALUE ? NOT_FOUND : index;
+    }
+
+    /**
+     * @return the number of values for which the predicate returns true.
+     */
+    static <T> int count(final List<T> values, final Func1<? super T, Boolean> predicate, final boolean parallel) {
+        return count(values, predicate, workersFor(values.size(), parallel));
+    }
+
+    static <T> int count(final List<T> values, final Func1<? super T, Boolean> predicate, final int workers) {
+        final AtomicInteger count = new AtomicInteger();
+        run(values.size(), workers, new Block() {
+            @Override
+            public boolean scan(final int from, final int to) {
+                int matched = 0;
+                for (int i = from; i < to; i++) {
+                    if (Boolean.TRUE.equals(predicate.call(values.get(i)))) {
+                        matched++;
+                    }
+                }
+                count.addAndGet(matched);
+                return true;
+            }
+        });
+        return count.get();
+    }
+
+    private static int workersFor(final int size, final boolean parallel) {
+        return parallel && size >= MIN_PARALLEL_SIZE ? Runtime.getRuntime().availableProcessors() : 1;
+    }
+
+    private static void run(final int size, final int workers, final Block block) {
+        if (workers <= 1) {
+            block.scan(0, size);
+            return;
+        }
+        final int blockSize = Math.max(1, size / (workers * BLOCKS_PER_WORKER));
+        final AtomicInteger nextBlock = new AtomicInteger();
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final CountDownLatch done = new CountDownLatch(workers);
+        final Runnable worker = new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    while (failure.get() == null) {
+                        final long from = (long) nextBlock.getAndIncrement() * blockSize;
+                        if (from >= size || !block.scan((int) from, (int) Math.min(size, from + blockSize))) {
+                            return;
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    done.countDown();
+                }
+            }
+        };
+        for (int i = 0; i < workers; i++) {
+            POOL.execute(worker);
+        }
+        try {
+            done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted", e);
+        }
+        final Throwable t = failure.get();
+        if (t != null) {
+            rethrow(t);
+        }
+    }
+
+    private static void rethrow(final Throwable t) {
+        if (t instanceof RuntimeException) {
+            throw (RuntimeException) t;
+        }
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        throw new IllegalStateException(t);
+    }
+
+    private static void setIfLower(final AtomicInteger lowest, final int index) {
+        int current;
+        do {
+            current = lowest.get();
+        } while (index < current && !lowest.compareAndSet(current, index));
+    }
+
+    private static void setIfLower(final AtomicReference<IndexedFailure> lowest, final IndexedFailure failure) {
+        IndexedFailure current;
+        do {
+            current = lowest.get();
+        } while ((current == null || failure.index < current.index) && !lowest.compareAndSet(current, failure));
+    }
+
+    /**
+     * An exception thrown by the predicate, and the index of the value it was evaluated for.
+     */
+    private static final class IndexedFailure {
+
+        private final int index;
+        private final Throwable error;
+
+        IndexedFailure(final int index, final Throwable error) {
+            this.index = index;
+            this.error = error;
+        }
+    }
+
+    private interface Block {
+
+        /**
+         * Scans the values from <code>from</code>, inclusive, to <code>to</code>, exclusive.
+         *
+         * @return true if later blocks need to be scanned.
+         */
+        boolean scan(int from, int to);
+    }
+
+    private ValueScan() {
+        throw new AssertionError("No instances.");
+    }
+}
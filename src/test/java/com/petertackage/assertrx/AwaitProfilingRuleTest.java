@@ -0,0 +1,261 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.Description;
+import org.junit.runners.model.Statement;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.observers.TestSubscriber;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AwaitProfilingRuleTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void writesSuiteReportOfSlowestAwaits() throws Throwable {
+        File directory = folder.newFolder();
+        AwaitProfilingRule rule = new AwaitProfilingRule(5, TimeUnit.SECONDS).reportingTo(directory);
+
+        runSuite(rule, "slowTest", new Statement() {
+            @Override
+            public void evaluate() {
+                TestSubscriber<Long> ts = new TestSubscriber<Long>();
+                Observable.timer(50, TimeUnit.MILLISECONDS).subscribe(ts);
+                Assertions.assertThat(ts).afterTerminalEvent(1, TimeUnit.SECONDS)
+                        .hasCompleted();
+            }
+        });
+
+        List<String> lines = readLines(rule.getReportFile("com.example.SuiteTest"));
+        assertThat(lines).hasSize(2);
+        assertThat(lines.get(0)).startsWith("Slowest awaits of com.example.SuiteTest: 1 awaits, ");
+        assertThat(lines.get(1)).contains("slowTest  afterTerminalEvent(1, SECONDS)  at "
+                + AwaitProfilingRuleTest.class.getName());
+    }
+
+    @Test
+    public void failsAwaitWithoutTimeout_whenBudgetRunsOut() throws Throwable {
+        expectAssertionErrorWithMessage("Expected awaits to take at most <100 ms> in total, but <afterTerminalEvent()> was still blocked when the budget ran out, at: "
+                + AwaitProfilingRuleTest.class.getName());
+        thrown.expectMessage("Thread stacks:");
+        AwaitProfilingRule rule = new AwaitProfilingRule(100, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                TestSubscriber<Object> ts = new TestSubscriber<Object>();
+                Observable.never().subscribe(ts);
+                Assertions.assertThat(ts).afterTerminalEvent();
+            }
+        });
+    }
+
+    @Test
+    public void sharesBudgetAcrossAwaitsOfTest() throws Throwable {
+        expectAssertionErrorWithMessage("but <afterTerminalEventAndUnsubscribingIfTimeout(60, MILLISECONDS)> was still blocked");
+        AwaitProfilingRule rule = new AwaitProfilingRule(100, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                TestSubscriber<Object> first = new TestSubscriber<Object>();
+                Observable.never().subscribe(first);
+                Assertions.assertThat(first).afterTerminalEvent(60, TimeUnit.MILLISECONDS);
+
+                TestSubscriber<Object> second = new TestSubscriber<Object>();
+                Observable.never().subscribe(second);
+                Assertions.assertThat(second).afterTerminalEventAndUnsubscribingIfTimeout(60, TimeUnit.MILLISECONDS);
+            }
+        });
+    }
+
+    @Test
+    public void doesNotFail_whenAwaitEndsOnTerminalEventWithinBudget() throws Throwable {
+        AwaitProfilingRule rule = new AwaitProfilingRule(1, TimeUnit.SECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+                Observable.just(1).delay(10, TimeUnit.MILLISECONDS).subscribe(ts);
+                Assertions.assertThat(ts).afterValueCount(1, 1, TimeUnit.DAYS)
+                        .afterTerminalEvent()
+                        .hasCompleted();
+            }
+        });
+    }
+
+    @Test
+    public void failsAwaitOfRecordingSubscriber_whenBudgetRunsOut() throws Throwable {
+        expectAssertionErrorWithMessage("Expected awaits to take at most <100 ms> in total, but <afterTerminalEvent()> was still blocked when the budget ran out, at: "
+                + AwaitProfilingRuleTest.class.getName());
+        AwaitProfilingRule rule = new AwaitProfilingRule(100, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                IntTestSubscriber ts = new IntTestSubscriber();
+                Observable.<Integer>never().subscribe(ts);
+                Assertions.assertThat(ts).afterTerminalEvent();
+            }
+        });
+    }
+
+    @Test
+    public void countsWaitOfHasStoppedWithin() throws Throwable {
+        expectAssertionErrorWithMessage("but <hasStoppedWithin(1, SECONDS)> was still blocked when the budget ran out");
+        AwaitProfilingRule rule = new AwaitProfilingRule(100, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                CancellationRecordingTestSubscriber<Object> ts = new CancellationRecordingTestSubscriber<Object>();
+                ts.unsubscribe();
+                Assertions.assertThat(ts).hasStoppedWithin(1, TimeUnit.SECONDS);
+            }
+        });
+    }
+
+    @Test
+    public void countsAwaitsOnWorkerThreadsOfAssertions() throws Throwable {
+        expectAssertionErrorWithMessage("subscribers at indexes <[0]>: Expected awaits to take at most <100 ms> in total, but <afterTerminalEvent of the subscriber at index <0>> was still blocked when the budget ran out, at: "
+                + AwaitProfilingRuleTest.class.getName());
+        AwaitProfilingRule rule = new AwaitProfilingRule(100, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() {
+                TestSubscriber<Object> ts = new TestSubscriber<Object>();
+                Observable.never().subscribe(ts);
+                Assertions.assertThatAll(Collections.singletonList(ts))
+                        .afterTerminalEvent(1, TimeUnit.DAYS)
+                        .allSatisfy(new Action1<TestSubscriberAssert<Object>>() {
+                            @Override
+                            public void call(final TestSubscriberAssert<Object> ts) {
+                                ts.hasCompleted();
+                            }
+                        });
+            }
+        });
+    }
+
+    @Test
+    public void doesNotCountAwaitsOnThreadsStartedByTest() throws Throwable {
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        AwaitProfilingRule rule = new AwaitProfilingRule(50, TimeUnit.MILLISECONDS).reportingTo(folder.newFolder());
+
+        runTest(rule, new Statement() {
+            @Override
+            public void evaluate() throws Throwable {
+                Thread thread = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        try {
+                            TestSubscriber<Object> ts = new TestSubscriber<Object>();
+                            Observable.never().subscribe(ts);
+                            Assertions.assertThat(ts).afterTerminalEvent(100, TimeUnit.MILLISECONDS);
+                        } catch (Throwable e) {
+                            failure.set(e);
+                        }
+                    }
+                });
+                thread.start();
+                thread.join();
+            }
+        });
+
+        assertThat(failure.get()).isNull();
+    }
+
+    @Test
+    public void reportsSuiteFailure_whenReportCannotBeWritten() throws Throwable {
+        expectAssertionErrorWithMessage("suite failed");
+        AwaitProfilingRule rule = new AwaitProfilingRule(5, TimeUnit.SECONDS).reportingTo(folder.newFile());
+
+        runSuite(rule, "failingTest", new Statement() {
+            @Override
+            public void evaluate() {
+                throw new AssertionError("suite failed");
+            }
+        });
+    }
+
+    @Test
+    public void failsSuite_whenReportCannotBeWritten() throws Throwable {
+        File notDirectory = folder.newFile();
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Could not create report directory: " + notDirectory);
+        AwaitProfilingRule rule = new AwaitProfilingRule(5, TimeUnit.SECONDS).reportingTo(notDirectory);
+
+        runSuite(rule, "passingTest", new Statement() {
+            @Override
+            public void evaluate() {
+            }
+        });
+    }
+
+    private static void runSuite(final AwaitProfilingRule rule, final String methodName, final Statement test)
+            throws Throwable {
+        final Statement perTest = rule.apply(test, Description.createTestDescription("com.example.SuiteTest", methodName));
+        rule.apply(perTest, Description.createSuiteDescription("com.example.SuiteTest")).evaluate();
+    }
+
+    private static void runTest(final AwaitProfilingRule rule, final Statement test) throws Throwable {
+        rule.apply(test, Description.createTestDescription("com.example.SuiteTest", "test")).evaluate();
+    }
+
+    private static List<String> readLines(final File file) throws IOException {
+        final BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), "UTF-8"));
+        try {
+            final List<String> lines = new ArrayList<String>();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+            return lines;
+        } finally {
+            reader.close();
+        }
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
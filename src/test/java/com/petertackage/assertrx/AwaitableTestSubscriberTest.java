@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.subjects.PublishSubject;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class AwaitableTestSubscriberTest {
+
+    @Test
+    public void awaitValues_returnsImmediately_whenAlreadyReceived() {
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        Observable.range(0, 5).subscribe(ts);
+
+        assertThat(ts.awaitValues(5, 1, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void awaitValues_wakesFromOnNext_whenHotStreamNeverTerminates() {
+        AwaitableTestSubscriber<Long> ts = new AwaitableTestSubscriber<Long>();
+        Observable.interval(1, TimeUnit.MILLISECONDS).subscribe(ts);
+
+        boolean received = ts.awaitValues(10, 10, TimeUnit.SECONDS);
+        ts.unsubscribe();
+
+        assertThat(received).isTrue();
+        assertThat(ts.getValueCount()).isGreaterThanOrEqualTo(10);
+    }
+
+    @Test
+    public void awaitValues_returnsFalse_whenCompletedBeforeCount() {
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        Observable.range(0, 3).delay(10, TimeUnit.MILLISECONDS).subscribe(ts);
+
+        assertThat(ts.awaitValues(5, 10, TimeUnit.SECONDS)).isFalse();
+    }
+
+    @Test
+    public void awaitValueMatching_considersValuesReceivedBeforeWaiting() {
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        PublishSubject<Integer> subject = PublishSubject.create();
+        subject.subscribe(ts);
+        subject.onNext(42);
+
+        assertThat(ts.awaitValueMatching(equalTo(42), 1, TimeUnit.MILLISECONDS)).isTrue();
+    }
+
+    @Test
+    public void awaitValueMatching_returnsFalse_whenTimeoutElapses() {
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        PublishSubject<Integer> subject = PublishSubject.create();
+        subject.subscribe(ts);
+        subject.onNext(1);
+
+        assertThat(ts.awaitValueMatching(equalTo(42), 10, TimeUnit.MILLISECONDS)).isFalse();
+    }
+
+    private static <T> Func1<T, Boolean> equalTo(final T expected) {
+        return new Func1<T, Boolean>() {
+            @Override
+            public Boolean call(final T value) {
+                return expected.equals(value);
+            }
+        };
+    }
+}
@@ -0,0 +1,266 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class BoundedTestSubscriberAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    // BoundedTestSubscriber
+
+    @Test
+    public void getRetainedValues_returnsLastValuesInOrder_whenCapacityExceeded() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(10, 3);
+
+        assertThat(ts.getRetainedValues()).containsExactly(7, 8, 9);
+        assertThat(ts.getValueCount()).isEqualTo(10);
+        assertThat(ts.hasEvictedValues()).isTrue();
+    }
+
+    @Test
+    public void getRetainedValues_returnsAllValues_whenCapacityNotExceeded() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(2, 3);
+
+        assertThat(ts.getRetainedValues()).containsExactly(0, 1);
+        assertThat(ts.hasEvictedValues()).isFalse();
+    }
+
+    @Test
+    public void getRetainedValue_returnsRetainedValueAtIndex_whenCapacityExceeded() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(10, 3);
+
+        assertThat(ts.getRetainedValue(0)).isEqualTo(7);
+        assertThat(ts.getRetainedValue(2)).isEqualTo(9);
+    }
+
+    @Test
+    public void getRetainedValue_throws_whenIndexNotRetained() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        thrown.expectMessage("Index: 2, retained: 2");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(2, 3);
+
+        ts.getRetainedValue(2);
+    }
+
+    @Test
+    public void requestMore_requestsAdditionalValues_whenInitialRequestIsBounded() {
+        BoundedTestSubscriber<Integer> ts = new BoundedTestSubscriber<Integer>(5, 1);
+        Observable.range(0, 10).subscribe(ts);
+        ts.requestMore(2);
+
+        assertThat(ts.getRetainedValues()).containsExactly(0, 1, 2);
+    }
+
+    // hasReceivedLastValue
+
+    @Test
+    public void hasReceivedLastValue_doesNotAssert_whenLastValueEqualAndValuesEvicted() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(1000, 4);
+
+        Assertions.assertThat(ts).hasReceivedLastValue(999);
+    }
+
+    @Test
+    public void hasReceivedLastValue_asserts_whenLastValueNotEqual() {
+        expectAssertionErrorWithMessage("Expected last received onNext event to be: <5>, but was: <999>.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(1000, 4);
+
+        Assertions.assertThat(ts).hasReceivedLastValue(5);
+    }
+
+    @Test
+    public void hasReceivedLastValue_asserts_whenNoValues() {
+        expectAssertionErrorWithMessage("Expected received onNext events not to be empty.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(0, 4);
+
+        Assertions.assertThat(ts).hasReceivedLastValue(5);
+    }
+
+    // hasReceivedLastValueWhich
+
+    @Test
+    public void hasReceivedLastValueWhich_returnsAssertionOnLastValue() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(1000, 4);
+
+        Assertions.assertThat(ts).hasReceivedLastValueWhich().isEqualTo(999);
+    }
+
+    // hasReceivedFirstValue
+
+    @Test
+    public void hasReceivedFirstValue_doesNotAssert_whenFirstValueRetainedAndEqual() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(4, 4);
+
+        Assertions.assertThat(ts).hasReceivedFirstValue(0);
+    }
+
+    @Test
+    public void hasReceivedFirstValue_asserts_whenFirstValueEvicted() {
+        expectAssertionErrorWithMessage(
+                "Cannot verify the first onNext value, only the last <4> of <5> received onNext values were retained.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(5, 4);
+
+        Assertions.assertThat(ts).hasReceivedFirstValue(0);
+    }
+
+    @Test
+    public void hasReceivedFirstValueWhich_asserts_whenFirstValueEvicted() {
+        expectAssertionErrorWithMessage(
+                "Cannot verify the first onNext value, only the last <4> of <5> received onNext values were retained.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(5, 4);
+
+        Assertions.assertThat(ts).hasReceivedFirstValueWhich();
+    }
+
+    // hasReceivedValues
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenAllValuesRetainedAndEqual() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(3, 4);
+
+        Assertions.assertThat(ts).hasReceivedValues(0, 1, 2);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_whenValuesNotEqual() {
+        expectAssertionErrorWithMessage("Expected onNext events to be: <[0, 2, 1]>, but was: <[0, 1, 2]>.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(3, 4);
+
+        Assertions.assertThat(ts).hasReceivedValues(0, 2, 1);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_whenValuesEvicted() {
+        expectAssertionErrorWithMessage(
+                "Cannot verify all onNext values, only the last <4> of <6> received onNext values were retained.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(6, 4);
+
+        Assertions.assertThat(ts).hasReceivedValues(2, 3, 4, 5);
+    }
+
+    // hasReceivedValue
+
+    @Test
+    public void hasReceivedValue_asserts_whenMultipleValues() {
+        expectAssertionErrorWithMessage("Expected <1> onNext events, but received: <2>.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(2, 4);
+
+        Assertions.assertThat(ts).hasReceivedValue(1);
+    }
+
+    // hasRetainedValuesWhich
+
+    @Test
+    public void hasRetainedValuesWhich_returnsAssertionOnRetainedValues() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(10, 2);
+
+        Assertions.assertThat(ts).hasRetainedValuesWhich().containsExactly(8, 9);
+    }
+
+    // hasValueCount
+
+    @Test
+    public void hasValueCount_doesNotAssert_whenCountIncludesEvictedValues() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(100000, 1);
+
+        Assertions.assertThat(ts).hasValueCount(100000);
+    }
+
+    @Test
+    public void hasValueCount_asserts_whenCountNotEqual() {
+        expectAssertionErrorWithMessage("Expected <3> onNext events, but received: <100>.");
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(100, 1);
+
+        Assertions.assertThat(ts).hasValueCount(3);
+    }
+
+    // Terminal events
+
+    @Test
+    public void hasCompleted_doesNotAssert_whenCompleted() {
+        BoundedTestSubscriber<Integer> ts = subscribeToRange(10, 1);
+
+        Assertions.assertThat(ts).hasCompleted()
+                .hasNoErrors()
+                .hasTerminalEvent();
+    }
+
+    @Test
+    public void hasCompleted_asserts_whenNotCompleted() {
+        expectAssertionErrorWithMessage("Expected a single onCompleted event, but received: <0>.");
+        BoundedTestSubscriber<Object> ts = new BoundedTestSubscriber<Object>(1);
+        Observable.never().subscribe(ts);
+
+        Assertions.assertThat(ts).hasNoTerminalEvent()
+                .hasCompleted();
+    }
+
+    @Test
+    public void hasError_doesNotAssert_whenErrorOfType() {
+        BoundedTestSubscriber<Object> ts = new BoundedTestSubscriber<Object>(1);
+        Observable.error(new IOException("failed")).subscribe(ts);
+
+        Assertions.assertThat(ts).hasError(IOException.class)
+                .hasNotCompleted()
+                .hasErrorWhich()
+                .hasMessage("failed");
+    }
+
+    @Test
+    public void hasNoErrors_asserts_whenError() {
+        IOException error = new IOException();
+        expectAssertionErrorWithMessage(String.format("Expected no onError events, but received: <1> (first: <%s>).", error));
+        BoundedTestSubscriber<Object> ts = new BoundedTestSubscriber<Object>(1);
+        Observable.error(error).subscribe(ts);
+
+        Assertions.assertThat(ts).hasNoErrors();
+    }
+
+    @Test
+    public void afterTerminalEvent_waitsForCompletion_whenAsynchronous() {
+        BoundedTestSubscriber<Integer> ts = new BoundedTestSubscriber<Integer>(2);
+        Observable.from(Arrays.asList(1, 2, 3))
+                .subscribeOn(rx.schedulers.Schedulers.io())
+                .subscribe(ts);
+
+        Assertions.assertThat(ts).afterTerminalEvent()
+                .hasCompleted()
+                .hasReceivedLastValue(3);
+    }
+
+    private static BoundedTestSubscriber<Integer> subscribeToRange(final int count, final int capacity) {
+        BoundedTestSubscriber<Integer> ts = new BoundedTestSubscriber<Integer>(capacity);
+        Observable.range(0, count).subscribe(ts);
+        return ts;
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
@@ -0,0 +1,62 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Action1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CancellationRecordingTestSubscriberTest {
+
+    @Test
+    public void recordsUnsubscribeOnTerminalEvent() {
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        assertThat(ts.hasUnsubscribed()).isFalse();
+
+        Observable.range(0, 3).subscribe(ts);
+
+        assertThat(ts.hasUnsubscribed()).isTrue();
+        assertThat(ts.getEventCountAfterUnsubscribe()).isEqualTo(0);
+        assertThat(ts.getLastEventAfterUnsubscribeNanos()).isEqualTo(-1);
+    }
+
+    @Test
+    public void countsEventsFromUpstreamIgnoringUnsubscribe() {
+        final CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        Observable.create(new Observable.OnSubscribe<Integer>() {
+            @Override
+            public void call(final Subscriber<? super Integer> subscriber) {
+                for (int i = 0; i < 10; i++) {
+                    subscriber.onNext(i);
+                }
+            }
+        }).doOnNext(new Action1<Integer>() {
+            @Override
+            public void call(final Integer value) {
+                if (value == 2) {
+                    ts.unsubscribe();
+                }
+            }
+        }).subscribe(ts);
+
+        assertThat(ts.getEventCountAfterUnsubscribe()).isEqualTo(8);
+        assertThat(ts.getLastEventAfterUnsubscribeNanos()).isGreaterThanOrEqualTo(0);
+        Assertions.assertThat(ts).hasAtMostEventsAfterUnsubscribe(8);
+    }
+}
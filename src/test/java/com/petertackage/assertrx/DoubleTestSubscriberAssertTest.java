@@ -0,0 +1,96 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.offset;
+
+public class DoubleTestSubscriberAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void getValues_returnsAllValues() {
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(0.5, 1.5));
+
+        assertThat(ts.getValues()).containsExactly(0.5, 1.5);
+    }
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenValuesEqual() {
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(0.5, 1.5, Double.NaN));
+
+        Assertions.assertThat(ts).hasReceivedValues(0.5, 1.5, Double.NaN);
+    }
+
+    @Test
+    public void hasReceivedLastValue_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected last received onNext event to be: <0.5>, but was: <1.5>.");
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(0.5, 1.5));
+
+        Assertions.assertThat(ts).hasReceivedLastValue(0.5);
+    }
+
+    @Test
+    public void hasSum_doesNotAssert_whenWithinOffset() {
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(0.1, 0.2));
+
+        Assertions.assertThat(ts).hasSum(0.3, offset(1e-9));
+    }
+
+    @Test
+    public void hasSum_asserts_whenOutsideOffset() {
+        expectAssertionErrorWithMessage("Expected sum of onNext events to be: <1.0> within <0.1>, but was: <0.5>.");
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(0.25, 0.25));
+
+        Assertions.assertThat(ts).hasSum(1.0, offset(0.1));
+    }
+
+    @Test
+    public void hasMaxValue_doesNotAssert_whenEqual() {
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(-1.0, 2.5, 2.0));
+
+        Assertions.assertThat(ts).hasMaxValue(2.5)
+                .hasMinValue(-1.0);
+    }
+
+    @Test
+    public void hasNonDecreasingValues_asserts_whenDecreasing() {
+        expectAssertionErrorWithMessage(
+                "Expected onNext events to be non-decreasing, but value at index <2> was: <2.0> after: <2.5>.");
+        DoubleTestSubscriber ts = subscribeTo(Observable.just(-1.0, 2.5, 2.0));
+
+        Assertions.assertThat(ts).hasNonDecreasingValues();
+    }
+
+    private static DoubleTestSubscriber subscribeTo(final Observable<Double> observable) {
+        DoubleTestSubscriber ts = new DoubleTestSubscriber();
+        observable.subscribe(ts);
+        return ts;
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
@@ -0,0 +1,61 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+import rx.functions.Func1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class DuplicateFinderTest {
+
+    private static final Func1<Integer, Long> SQUARE = new Func1<Integer, Long>() {
+        @Override
+        public Long call(final Integer value) {
+            return (long) value * value;
+        }
+    };
+
+    @Test
+    public void bloomPreFilter_findsSameDuplicateAsExactSet() {
+        Random random = new Random(42);
+        List<Integer> values = new ArrayList<Integer>();
+        for (int i = 0; i < 100000; i++) {
+            values.add(random.nextInt(10000000));
+        }
+
+        int[] exact = DuplicateFinder.firstDuplicate(values, null, false);
+        int[] filtered = DuplicateFinder.firstDuplicate(values, null, true);
+        int[] exactLong = DuplicateFinder.firstDuplicateLongKey(values, SQUARE, false);
+        int[] filteredLong = DuplicateFinder.firstDuplicateLongKey(values, SQUARE, true);
+
+        assertThat(exact).isNotNull();
+        assertThat(values.get(exact[0])).isEqualTo(values.get(exact[1]));
+        assertThat(filtered).isEqualTo(exact);
+        assertThat(exactLong).isEqualTo(exact);
+        assertThat(filteredLong).isEqualTo(exact);
+    }
+
+    @Test
+    public void firstDuplicate_returnsNull_whenEmpty() {
+        assertThat(DuplicateFinder.firstDuplicate(Arrays.asList(), null, true)).isNull();
+    }
+}
@@ -0,0 +1,56 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Func1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ExpectingTestSubscriberTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void onNext_unsubscribesAtFirstValueNotMatchingPrefix() {
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>()
+                .expectValuesStartingWith(1, 2, 3);
+        Observable.range(1, 1000).map(new Func1<Integer, Integer>() {
+            @Override
+            public Integer call(final Integer value) {
+                return value == 2 ? -2 : value;
+            }
+        }).subscribe(ts);
+
+        assertThat(ts.getOnNextEvents()).containsExactly(1, -2);
+        assertThat(ts.isUnsubscribed()).isTrue();
+        assertThat(ts.getExpectationFailure())
+                .hasMessage("Expected onNext event at index <1> to be: <2>, but was: <-2>.");
+    }
+
+    @Test
+    public void expectNoErrors_throws_whenEventsAlreadyReceived() {
+        thrown.expect(IllegalStateException.class);
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>();
+        Observable.just(1).subscribe(ts);
+
+        ts.expectNoErrors();
+    }
+}
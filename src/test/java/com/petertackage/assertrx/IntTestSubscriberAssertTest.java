@@ -0,0 +1,85 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class IntTestSubscriberAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void getValues_returnsAllValues_whenSpanningMultipleChunks() {
+        int count = PrimitiveChunks.CHUNK_SIZE * 2 + 1;
+        IntTestSubscriber ts = subscribeTo(Observable.range(0, count));
+
+        int[] values = ts.getValues();
+
+        assertThat(values).hasSize(count);
+        assertThat(values[count - 1]).isEqualTo(count - 1);
+    }
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenValuesEqual() {
+        IntTestSubscriber ts = subscribeTo(Observable.just(1, 2, 3));
+
+        Assertions.assertThat(ts).hasReceivedValues(1, 2, 3)
+                .hasReceivedFirstValue(1)
+                .hasReceivedLastValue(3)
+                .hasCompleted();
+    }
+
+    @Test
+    public void hasSum_doesNotAssert_whenSumExceedsIntRange() {
+        IntTestSubscriber ts = subscribeTo(Observable.just(Integer.MAX_VALUE, Integer.MAX_VALUE));
+
+        Assertions.assertThat(ts).hasSum(2L * Integer.MAX_VALUE);
+    }
+
+    @Test
+    public void hasMinValue_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected minimum onNext event to be: <1>, but was: <-4>.");
+        IntTestSubscriber ts = subscribeTo(Observable.just(3, -4, 1));
+
+        Assertions.assertThat(ts).hasMinValue(1);
+    }
+
+    @Test
+    public void hasStrictlyIncreasingValues_doesNotAssert_whenIncreasing() {
+        IntTestSubscriber ts = subscribeTo(Observable.range(0, 10000));
+
+        Assertions.assertThat(ts).hasStrictlyIncreasingValues()
+                .hasNonDecreasingValues();
+    }
+
+    private static IntTestSubscriber subscribeTo(final Observable<Integer> observable) {
+        IntTestSubscriber ts = new IntTestSubscriber();
+        observable.subscribe(ts);
+        return ts;
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
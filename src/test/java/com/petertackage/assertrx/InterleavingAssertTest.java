@@ -0,0 +1,196 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class InterleavingAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void neverFails_doesNotAssert_whenOrderIsPreservedAcrossSchedulers() {
+        Assertions.assertThatInterleavings(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.range(0, 10)
+                        .subscribeOn(Schedulers.computation())
+                        .observeOn(Schedulers.io())
+                        .observeOn(Schedulers.newThread());
+            }
+        }).withSchedules(100)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasReceivedValues(0, 1, 2, 3, 4, 5, 6, 7, 8, 9).hasCompleted();
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_withSeed_whenInterleavingDependent() {
+        expectAssertionErrorWithMessage("Expected all <100> interleavings to pass, but <");
+        thrown.expectMessage("failed. First, with seed <");
+
+        racingMerge().withSchedules(100)
+                .withWorkers(2)
+                .neverFails();
+    }
+
+    @Test
+    public void withSeed_replaysTheSameInterleaving() {
+        final List<List<Integer>> received = Collections.synchronizedList(new ArrayList<List<Integer>>());
+        for (long seed = 0; seed < 20; seed++) {
+            received.clear();
+            recordingMerge(received).withSeed(seed).neverFails();
+            recordingMerge(received).withSeed(seed).neverFails();
+
+            assertThat(received).hasSize(2);
+            assertThat(received.get(0)).isEqualTo(received.get(1));
+        }
+    }
+
+    @Test
+    public void neverFails_exploresDifferentInterleavings() {
+        final List<List<Integer>> received = Collections.synchronizedList(new ArrayList<List<Integer>>());
+        recordingMerge(received).withSchedules(50).neverFails();
+
+        assertThat(new HashSet<List<Integer>>(received)).containsOnly(Arrays.asList(1, 2), Arrays.asList(2, 1));
+    }
+
+    @Test
+    public void neverFails_runsTimersInVirtualTime() {
+        Assertions.assertThatInterleavings(new Func0<Observable<Long>>() {
+            @Override
+            public Observable<Long> call() {
+                return Observable.timer(1, TimeUnit.HOURS);
+            }
+        }).withSchedules(10)
+                .checking(new Action1<TestSubscriberAssert<Long>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Long> ts) {
+                        ts.hasReceivedValue(0L).hasCompleted();
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_whenActionsDoNotSettle() {
+        expectAssertionErrorWithMessage("First, with seed <42>: Expected the scheduled actions to settle within <100> actions, but they did not.");
+
+        Assertions.assertThatInterleavings(new Func0<Observable<Long>>() {
+            @Override
+            public Observable<Long> call() {
+                return Observable.interval(1, TimeUnit.SECONDS);
+            }
+        }).withSeed(42)
+                .withMaxActions(100)
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_byDefault_whenInterleavingSettlesWithoutCompleting() {
+        expectAssertionErrorWithMessage("First, with seed <42>: Not completed!");
+
+        Assertions.assertThatInterleavings(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.just(1).subscribeOn(Schedulers.computation()).concatWith(Observable.<Integer>never());
+            }
+        }).withSeed(42)
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_usesSubscribersFromFactory() {
+        Assertions.assertThatInterleavings(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.merge(Observable.just(1).subscribeOn(Schedulers.computation()),
+                        Observable.just(2).subscribeOn(Schedulers.io()));
+            }
+        }, new Func0<TestSubscriber<Integer>>() {
+            @Override
+            public TestSubscriber<Integer> call() {
+                return new SerializationCheckingTestSubscriber<Integer>();
+            }
+        }).withSchedules(50)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasSerializedEmissions().hasValueCount(2).hasCompleted();
+                    }
+                })
+                .neverFails();
+    }
+
+    private static InterleavingAssert<Integer> racingMerge() {
+        return Assertions.assertThatInterleavings(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.merge(Observable.just(1).subscribeOn(Schedulers.computation()),
+                        Observable.just(2).subscribeOn(Schedulers.io()));
+            }
+        }).checking(new Action1<TestSubscriberAssert<Integer>>() {
+            @Override
+            public void call(final TestSubscriberAssert<Integer> ts) {
+                ts.hasReceivedValues(1, 2);
+            }
+        });
+    }
+
+    private static InterleavingAssert<List<Integer>> recordingMerge(final List<List<Integer>> received) {
+        return Assertions.assertThatInterleavings(new Func0<Observable<List<Integer>>>() {
+            @Override
+            public Observable<List<Integer>> call() {
+                return Observable.merge(Observable.just(1).subscribeOn(Schedulers.computation()),
+                        Observable.just(2).subscribeOn(Schedulers.io()))
+                        .toList()
+                        .doOnNext(new Action1<List<Integer>>() {
+                            @Override
+                            public void call(final List<Integer> values) {
+                                received.add(values);
+                            }
+                        });
+            }
+        });
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
@@ -0,0 +1,86 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void getValueAtPercentile_returnsExactValues_whenBelowSubBucketCount() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(50);
+        assertThat(histogram.getValueAtPercentile(99)).isEqualTo(99);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(100);
+        assertThat(histogram.getTotalCount()).isEqualTo(100);
+    }
+
+    @Test
+    public void getValueAtPercentile_isWithinOnePercent_whenValuesLarge() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.record(i * 1000000L);
+        }
+
+        long p90 = histogram.getValueAtPercentile(90);
+
+        assertThat(p90).isGreaterThanOrEqualTo(900000000L);
+        assertThat(p90).isLessThan(909000000L);
+    }
+
+    @Test
+    public void getValueAtPercentile_isCappedAtMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(1000001);
+
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(1000001);
+        assertThat(histogram.getMin()).isEqualTo(1000001);
+        assertThat(histogram.getMax()).isEqualTo(1000001);
+    }
+
+    @Test
+    public void record_acceptsFullRange() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(0);
+        histogram.record(Long.MAX_VALUE);
+
+        assertThat(histogram.getValueAtPercentile(50)).isEqualTo(0);
+        assertThat(histogram.getValueAtPercentile(100)).isEqualTo(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void bucketBoundaries_areContiguous() {
+        for (long value = 0; value < 1 << 20; value++) {
+            int index = LatencyHistogram.indexOf(value);
+            assertThat(LatencyHistogram.highestEquivalentValue(index)).isGreaterThanOrEqualTo(value);
+            if (index > 0) {
+                assertThat(LatencyHistogram.highestEquivalentValue(index - 1)).isLessThan(value);
+            }
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getValueAtPercentile_throws_whenEmpty() {
+        new LatencyHistogram().getValueAtPercentile(50);
+    }
+
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Func1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class LongTestSubscriberAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    // LongTestSubscriber
+
+    @Test
+    public void getValues_returnsAllValues_whenSpanningMultipleChunks() {
+        int count = PrimitiveChunks.CHUNK_SIZE * 5 + 3;
+        LongTestSubscriber ts = subscribeTo(Observable.range(0, count).map(toLong()));
+
+        long[] values = ts.getValues();
+
+        assertThat(values).hasSize(count);
+        assertThat(values[0]).isEqualTo(0);
+        assertThat(values[count - 1]).isEqualTo(count - 1);
+        assertThat(ts.getValue(PrimitiveChunks.CHUNK_SIZE)).isEqualTo(PrimitiveChunks.CHUNK_SIZE);
+    }
+
+    @Test
+    public void getValue_throws_whenIndexOutOfBounds() {
+        thrown.expect(IndexOutOfBoundsException.class);
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L));
+
+        ts.getValue(1);
+    }
+
+    @Test
+    public void onNext_reportsError_whenNullValue() {
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, null));
+
+        Assertions.assertThat(ts).hasValueCount(1)
+                .hasError(NullPointerException.class);
+    }
+
+    // hasReceivedValues
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenValuesEqual() {
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 2L, 3L));
+
+        Assertions.assertThat(ts).hasReceivedValues(1, 2, 3);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_whenValueNotEqual() {
+        expectAssertionErrorWithMessage("Expected onNext event at index <1> to be: <5>, but was: <2>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 2L, 3L));
+
+        Assertions.assertThat(ts).hasReceivedValues(1, 5, 3);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_whenCountNotEqual() {
+        expectAssertionErrorWithMessage("Expected <2> onNext events, but received: <3>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 2L, 3L));
+
+        Assertions.assertThat(ts).hasReceivedValues(1, 2);
+    }
+
+    // hasReceivedValue
+
+    @Test
+    public void hasReceivedValue_asserts_whenValueNotEqual() {
+        expectAssertionErrorWithMessage("Expected onNext event to be: <2>, but was: <1>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L));
+
+        Assertions.assertThat(ts).hasReceivedValue(2);
+    }
+
+    // hasReceivedFirstValue / hasReceivedLastValue
+
+    @Test
+    public void hasReceivedFirstValue_doesNotAssert_whenFirstValueEqual() {
+        LongTestSubscriber ts = subscribeTo(Observable.just(7L, 8L));
+
+        Assertions.assertThat(ts).hasReceivedFirstValue(7);
+    }
+
+    @Test
+    public void hasReceivedFirstValue_asserts_whenEmpty() {
+        expectAssertionErrorWithMessage("Expected received onNext events not to be empty.");
+        LongTestSubscriber ts = subscribeTo(Observable.<Long>empty());
+
+        Assertions.assertThat(ts).hasReceivedFirstValue(7);
+    }
+
+    @Test
+    public void hasReceivedLastValue_asserts_whenLastValueNotEqual() {
+        expectAssertionErrorWithMessage("Expected last received onNext event to be: <7>, but was: <8>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(7L, 8L));
+
+        Assertions.assertThat(ts).hasReceivedLastValue(7);
+    }
+
+    // hasSum
+
+    @Test
+    public void hasSum_doesNotAssert_whenSumEqual() {
+        LongTestSubscriber ts = subscribeTo(Observable.range(1, 100000).map(toLong()));
+
+        Assertions.assertThat(ts).hasSum(5000050000L);
+    }
+
+    @Test
+    public void hasSum_asserts_whenSumNotEqual() {
+        expectAssertionErrorWithMessage("Expected sum of onNext events to be: <7>, but was: <6>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 2L, 3L));
+
+        Assertions.assertThat(ts).hasSum(7);
+    }
+
+    // hasMinValue / hasMaxValue
+
+    @Test
+    public void hasMinValueAndMaxValue_doNotAssert_whenEqual() {
+        LongTestSubscriber ts = subscribeTo(Observable.just(5L, -2L, 9L, 0L));
+
+        Assertions.assertThat(ts).hasMinValue(-2)
+                .hasMaxValue(9);
+    }
+
+    @Test
+    public void hasMaxValue_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected maximum onNext event to be: <5>, but was: <9>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(5L, -2L, 9L, 0L));
+
+        Assertions.assertThat(ts).hasMaxValue(5);
+    }
+
+    @Test
+    public void hasMinValue_asserts_whenEmpty() {
+        expectAssertionErrorWithMessage("Expected received onNext events not to be empty.");
+        LongTestSubscriber ts = subscribeTo(Observable.<Long>empty());
+
+        Assertions.assertThat(ts).hasMinValue(0);
+    }
+
+    // hasNonDecreasingValues / hasStrictlyIncreasingValues
+
+    @Test
+    public void hasNonDecreasingValues_doesNotAssert_whenValuesRepeat() {
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 1L, 2L));
+
+        Assertions.assertThat(ts).hasNonDecreasingValues();
+    }
+
+    @Test
+    public void hasNonDecreasingValues_asserts_whenValueDecreases() {
+        expectAssertionErrorWithMessage(
+                "Expected onNext events to be non-decreasing, but value at index <2> was: <0> after: <2>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 2L, 0L));
+
+        Assertions.assertThat(ts).hasNonDecreasingValues();
+    }
+
+    @Test
+    public void hasStrictlyIncreasingValues_asserts_whenValuesRepeat() {
+        expectAssertionErrorWithMessage(
+                "Expected onNext events to be strictly increasing, but value at index <1> was: <1> after: <1>.");
+        LongTestSubscriber ts = subscribeTo(Observable.just(1L, 1L, 2L));
+
+        Assertions.assertThat(ts).hasStrictlyIncreasingValues();
+    }
+
+    private static LongTestSubscriber subscribeTo(final Observable<Long> observable) {
+        LongTestSubscriber ts = new LongTestSubscriber();
+        observable.subscribe(ts);
+        return ts;
+    }
+
+    private static Func1<Integer, Long> toLong() {
+        return new Func1<Integer, Long>() {
+            @Override
+            public Long call(final Integer value) {
+                return value.longValue();
+            }
+        };
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
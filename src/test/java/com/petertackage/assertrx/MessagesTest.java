@@ -0,0 +1,82 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class MessagesTest {
+
+    @After
+    public void tearDown() {
+        Assertions.setMaxRenderedValuesLength(Messages.DEFAULT_MAX_VALUES_LENGTH);
+    }
+
+    @Test
+    public void values_rendersAsToString_whenWithinCap() {
+        List<Object> values = Arrays.<Object>asList(1, "two", null, 4.0);
+
+        assertThat(Messages.values(values)).isEqualTo(values.toString());
+        assertThat(Messages.values(Collections.emptyList())).isEqualTo("[]");
+    }
+
+    @Test
+    public void values_rendersHeadAndTail_whenExceedingCap() {
+        Assertions.setMaxRenderedValuesLength(20);
+
+        assertThat(Messages.values(range(100)))
+                .isEqualTo("[0, 1, 2, 3, ... <93> more ..., 97, 98, 99] (100 values)");
+    }
+
+    @Test
+    public void values_startsHeadBeforeFocus_whenExceedingCap() {
+        Assertions.setMaxRenderedValuesLength(20);
+
+        assertThat(Messages.values(range(100), 50))
+                .isEqualTo("[... <48> more ..., 48, 49, 50, ... <46> more ..., 97, 98, 99] (100 values)");
+    }
+
+    @Test
+    public void values_truncatesLongElements() {
+        Assertions.setMaxRenderedValuesLength(10);
+        char[] chars = new char[100];
+        Arrays.fill(chars, 'x');
+
+        assertThat(Messages.values(Collections.singletonList(new String(chars))))
+                .isEqualTo("[xxxxx...] (1 values)");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void setMaxRenderedValuesLength_throws_whenNotPositive() {
+        Assertions.setMaxRenderedValuesLength(0);
+    }
+
+    private static List<Integer> range(final int count) {
+        List<Integer> values = new ArrayList<Integer>(count);
+        for (int i = 0; i < count; i++) {
+            values.add(i);
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,229 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.Subscriber;
+import rx.functions.Func1;
+import rx.functions.Func2;
+import rx.plugins.RxJavaHooks;
+import rx.schedulers.Schedulers;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ObservableAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_doesNotAssert_whenPipelineAllocatesLittle() {
+        Observable<Integer> oi = Observable.range(0, 100000).filter(new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                return value >= 0;
+            }
+        });
+
+        Assertions.assertThat(oi).hasAllocatedAtMostBytesPerEvent(256, 3);
+    }
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_asserts_whenPipelineAllocatesPerEvent() {
+        expectAssertionErrorWithMessage("Expected at most <256> bytes allocated per event, but was: <");
+        Observable<byte[]> oi = Observable.range(0, 10000).map(new Func1<Integer, byte[]>() {
+            @Override
+            public byte[] call(final Integer value) {
+                return new byte[4096];
+            }
+        });
+
+        Assertions.assertThat(oi).hasAllocatedAtMostBytesPerEvent(256, 1);
+    }
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_measuresDeliveryThreads() {
+        expectAssertionErrorWithMessage("events on threads: <[Thread[RxComputationScheduler-");
+        Observable<byte[]> oi = Observable.range(0, 10000)
+                .observeOn(Schedulers.computation())
+                .map(new Func1<Integer, byte[]>() {
+                    @Override
+                    public byte[] call(final Integer value) {
+                        return new byte[4096];
+                    }
+                });
+
+        Assertions.assertThat(oi).hasAllocatedAtMostBytesPerEvent(256);
+    }
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_asserts_whenDeliveryThreadHasTerminated() {
+        expectAssertionErrorWithMessage("Expected to measure allocation on every thread which received an event, but these had terminated: <[Thread[emitter,");
+        Observable<Integer> oi = Observable.create(new Observable.OnSubscribe<Integer>() {
+            @Override
+            public void call(final Subscriber<? super Integer> subscriber) {
+                final Thread emitter = new Thread(new Runnable() {
+                    @Override
+                    public void run() {
+                        subscriber.onNext(1);
+                    }
+                }, "emitter");
+                emitter.start();
+                try {
+                    emitter.join();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                subscriber.onCompleted();
+            }
+        });
+
+        Assertions.assertThat(oi).hasAllocatedAtMostBytesPerEvent(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_asserts_whenNoEvents() {
+        expectAssertionErrorWithMessage("Expected at least one onNext event to measure allocation per event.");
+
+        Assertions.assertThat(Observable.empty()).hasAllocatedAtMostBytesPerEvent(Long.MAX_VALUE);
+    }
+
+    @Test
+    public void hasAllocatedAtMostBytesPerEvent_asserts_whenNotTerminated() {
+        expectAssertionErrorWithMessage("Expected the Observable to terminate within <50 ms>, but it did not.");
+
+        Assertions.assertThat(Observable.never())
+                .withTimeout(50, TimeUnit.MILLISECONDS)
+                .hasAllocatedAtMostBytesPerEvent(256);
+    }
+
+    @Test
+    public void hasReleasedUpstream_doesNotAssert_whenCompletedPipelineIsCollected() {
+        Observable<Integer> oi = Observable.range(0, 100)
+                .map(new Func1<Integer, Integer>() {
+                    @Override
+                    public Integer call(final Integer value) {
+                        return value + 1;
+                    }
+                })
+                .observeOn(Schedulers.computation());
+
+        Assertions.assertThat(oi).hasReleasedUpstream();
+    }
+
+    @Test
+    public void hasReleasedUpstream_asserts_whenSourceRetainsSubscriber() {
+        expectAssertionErrorWithMessage("Expected the upstream to be released, but <2> of <2> tracked objects were still reachable after <");
+        final List<Subscriber<? super Integer>> retained = new ArrayList<Subscriber<? super Integer>>();
+        Observable<Integer> oi = Observable.create(new Observable.OnSubscribe<Integer>() {
+            @Override
+            public void call(final Subscriber<? super Integer> subscriber) {
+                retained.add(subscriber);
+                subscriber.onCompleted();
+            }
+        }).map(new Func1<Integer, Integer>() {
+            @Override
+            public Integer call(final Integer value) {
+                return value + 1;
+            }
+        });
+
+        Assertions.assertThat(oi)
+                .withTimeout(1, TimeUnit.SECONDS)
+                .hasReleasedUpstream();
+    }
+
+    @Test
+    public void hasReleasedUpstream_reportsReachableSubscriberClasses() {
+        expectAssertionErrorWithMessage("rx.internal.operators.OnSubscribeMap$MapSubscriber subscribed to");
+        final List<Subscriber<? super Integer>> retained = new ArrayList<Subscriber<? super Integer>>();
+        Observable<Integer> oi = Observable.create(new Observable.OnSubscribe<Integer>() {
+            @Override
+            public void call(final Subscriber<? super Integer> subscriber) {
+                retained.add(subscriber);
+                subscriber.onCompleted();
+            }
+        }).map(new Func1<Integer, Integer>() {
+            @Override
+            public Integer call(final Integer value) {
+                return value + 1;
+            }
+        });
+
+        Assertions.assertThat(oi)
+                .withTimeout(1, TimeUnit.SECONDS)
+                .hasReleasedUpstream();
+    }
+
+    @Test
+    public void hasReleasedUpstreamAfterUnsubscribing_doesNotAssert_whenTimerIsCancelled() {
+        Observable<Long> ol = Observable.timer(1, TimeUnit.HOURS, Schedulers.computation());
+
+        Assertions.assertThat(ol).hasReleasedUpstreamAfterUnsubscribing(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void hasReleasedUpstreamAfterUnsubscribing_asserts_whenHotSourceRetainsSubscriber() {
+        expectAssertionErrorWithMessage("were still reachable after <");
+        final List<Subscriber<? super Long>> retained = new ArrayList<Subscriber<? super Long>>();
+        Observable<Long> ol = Observable.create(new Observable.OnSubscribe<Long>() {
+            @Override
+            public void call(final Subscriber<? super Long> subscriber) {
+                retained.add(subscriber);
+            }
+        });
+
+        Assertions.assertThat(ol)
+                .withTimeout(1, TimeUnit.SECONDS)
+                .hasReleasedUpstreamAfterUnsubscribing(10, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void hasReleasedUpstream_restoresPreviousHooks() {
+        final AtomicInteger starts = new AtomicInteger();
+        RxJavaHooks.setOnObservableStart(new Func2<Observable, Observable.OnSubscribe, Observable.OnSubscribe>() {
+            @Override
+            public Observable.OnSubscribe call(final Observable observable, final Observable.OnSubscribe onSubscribe) {
+                starts.incrementAndGet();
+                return onSubscribe;
+            }
+        });
+        try {
+            Assertions.assertThat(Observable.just(1)).hasReleasedUpstream();
+            int chained = starts.get();
+            Observable.just(1).subscribe();
+
+            assertThat(chained).isEqualTo(1);
+            assertThat(starts.get()).isEqualTo(2);
+        } finally {
+            RxJavaHooks.setOnObservableStart(null);
+        }
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
@@ -0,0 +1,140 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class PreallocatedTestSubscriberAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    // PreallocatedTestSubscriber
+
+    @Test
+    public void reset_allowsReuse_whenUnsafeSubscribed() {
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.range(0, 5).unsafeSubscribe(ts);
+        Assertions.assertThat(ts).hasReceivedValues(0, 1, 2, 3, 4).hasCompleted();
+
+        ts.reset();
+        assertThat(ts.getValueCount()).isEqualTo(0);
+        Assertions.assertThat(ts).hasNoTerminalEvent();
+
+        Observable.range(10, 3).unsafeSubscribe(ts);
+        Assertions.assertThat(ts).hasReceivedValues(10, 11, 12).hasCompleted();
+    }
+
+    @Test
+    public void reset_keepsInitialRequest_whenBounded() {
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10, 2);
+        Observable.range(0, 5).unsafeSubscribe(ts);
+        Assertions.assertThat(ts).hasReceivedValues(0, 1);
+
+        ts.reset();
+        Observable.range(10, 5).unsafeSubscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedValues(10, 11).hasNoTerminalEvent();
+    }
+
+    @Test
+    public void reset_keepsInitialRequest_whenResetBeforeFirstSubscription() {
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10, 2);
+
+        ts.reset();
+        Observable.range(0, 5).unsafeSubscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedValues(0, 1).hasNoTerminalEvent();
+    }
+
+    @Test
+    public void reset_throws_whenUnsubscribed() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("Cannot reset an unsubscribed subscriber");
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.range(0, 5).subscribe(ts);
+
+        ts.reset();
+    }
+
+    @Test
+    public void onNext_countsValuesBeyondCapacity() {
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(3);
+        Observable.range(0, 5).subscribe(ts);
+
+        assertThat(ts.getValueCount()).isEqualTo(5);
+        assertThat(ts.getRetainedCount()).isEqualTo(3);
+        assertThat(ts.hasOverflowed()).isTrue();
+        assertThat(ts.getValue(2)).isEqualTo(2);
+    }
+
+    // PreallocatedTestSubscriberAssert
+
+    @Test
+    public void hasReceivedValues_asserts_withMismatchIndex() {
+        expectAssertionErrorWithMessage("Expected onNext event at index <1> to be: <5>, but was: <1>.");
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedValues(0, 5, 2);
+    }
+
+    @Test
+    public void hasNotOverflowed_asserts_whenCapacityExceeded() {
+        expectAssertionErrorWithMessage("Expected at most <3> onNext events, but received: <5>.");
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(3);
+        Observable.range(0, 5).subscribe(ts);
+
+        Assertions.assertThat(ts).hasNotOverflowed();
+    }
+
+    @Test
+    public void hasReceivedFirstAndLastValue_doesNotAssert_whenEqual() {
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedFirstValue(0).hasReceivedLastValue(2);
+    }
+
+    @Test
+    public void hasReceivedLastValue_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected last received onNext event to be: <3>, but was: <2>.");
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedLastValue(3);
+    }
+
+    @Test
+    public void hasReceivedValue_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected onNext event to be: <1>, but was: <0>.");
+        PreallocatedTestSubscriber<Integer> ts = new PreallocatedTestSubscriber<Integer>(10);
+        Observable.just(0).subscribe(ts);
+
+        Assertions.assertThat(ts).hasReceivedValue(1);
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
@@ -0,0 +1,145 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+import rx.Observable;
+import rx.observers.TestSubscriber;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RecordingsTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void recordingReader_readsRecordedEvents() throws IOException {
+        File file = folder.newFile();
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", null, "c").concatWith(Observable.<String>error(new IllegalStateException("boom"))).subscribe(ts);
+        Recordings.record(ts, file, ValueCodecs.strings());
+
+        RecordingReader<String> reader = new RecordingReader<String>(file, ValueCodecs.strings());
+        try {
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_NEXT);
+            assertThat(reader.getValue()).isEqualTo("a");
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_NEXT);
+            assertThat(reader.getValue()).isNull();
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_NEXT);
+            assertThat(reader.getValue()).isEqualTo("c");
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_ERROR);
+            assertThat(reader.getErrorClassName()).isEqualTo(IllegalStateException.class.getName());
+            assertThat(reader.getErrorMessage()).isEqualTo("boom");
+            assertThat(reader.getElapsedNanos()).isEqualTo(-1);
+            assertThat(reader.next()).isNull();
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void recordingReader_readsTimestamps_whenTimedTestSubscriber() throws IOException {
+        File file = folder.newFile();
+        TimedTestSubscriber<Long> ts = new TimedTestSubscriber<Long>();
+        Observable.just(1L, 2L).subscribe(ts);
+        Recordings.record(ts, file, ValueCodecs.longs());
+
+        RecordingReader<Long> reader = new RecordingReader<Long>(file, ValueCodecs.longs());
+        try {
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_NEXT);
+            assertThat(reader.getElapsedNanos())
+                    .isEqualTo(ts.getOnNextTimestampNanos(0) - ts.getSubscribedAtNanos());
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_NEXT);
+            assertThat(reader.next()).isEqualTo(RecordingReader.Event.ON_COMPLETED);
+            assertThat(reader.getElapsedNanos())
+                    .isEqualTo(ts.getTerminatedAtNanos() - ts.getSubscribedAtNanos());
+        } finally {
+            reader.close();
+        }
+    }
+
+    @Test
+    public void recordingReader_throwsIOException_whenStringLengthIsNegative() throws IOException {
+        File file = recordError(-2);
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Malformed string length: -2 at byte ");
+
+        readAll(file);
+    }
+
+    @Test
+    public void recordingReader_throwsIOException_whenStringLengthExceedsRecording() throws IOException {
+        File file = recordError(Integer.MAX_VALUE);
+        thrown.expect(IOException.class);
+        thrown.expectMessage("Corrupt recording at byte ");
+        thrown.expectMessage("Malformed string length: " + Integer.MAX_VALUE + " at byte ");
+
+        readAll(file);
+    }
+
+    private File recordError(final int classNameLength) throws IOException {
+        File file = folder.newFile();
+        TestSubscriber<Integer> recorded = new TestSubscriber<Integer>();
+        Observable.<Integer>error(new IllegalStateException("boom")).subscribe(recorded);
+        Recordings.record(recorded, file, ValueCodecs.integers());
+        byte[] bytes = "java.lang.IllegalStateException".getBytes("UTF-8");
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        try {
+            byte[] content = new byte[(int) raf.length()];
+            raf.readFully(content);
+            raf.seek(indexOf(content, bytes) - 4);
+            raf.writeInt(classNameLength);
+        } finally {
+            raf.close();
+        }
+        return file;
+    }
+
+    private static int indexOf(final byte[] content, final byte[] bytes) {
+        for (int i = 0; i <= content.length - bytes.length; i++) {
+            int j = 0;
+            while (j < bytes.length && content[i + j] == bytes[j]) {
+                j++;
+            }
+            if (j == bytes.length) {
+                return i;
+            }
+        }
+        throw new IllegalArgumentException("Not found");
+    }
+
+    private static void readAll(final File file) throws IOException {
+        RecordingReader<Integer> reader = new RecordingReader<Integer>(file, ValueCodecs.integers());
+        try {
+            while (reader.next() != null) {
+                // Read every event.
+            }
+        } finally {
+            reader.close();
+        }
+    }
+}
@@ -0,0 +1,39 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class RequestRecordingTestSubscriberTest {
+
+    @Test
+    public void recordsEachRequest_whenRequestingMore() {
+        RequestRecordingTestSubscriber<Integer> ts = new RequestRecordingTestSubscriber<Integer>(2);
+        Observable.range(0, 100).subscribe(ts);
+        ts.requestMore(3);
+        ts.requestMore(5);
+
+        assertThat(ts.getRequestBatchSizes()).containsExactly(2L, 3L, 5L);
+        assertThat(ts.getDeliveredCount()).isEqualTo(10);
+        Assertions.assertThat(ts).hasRequestBatchSizes(2, 3, 5)
+                .hasRequestedTotal(10)
+                .neverRequestedUnbounded()
+                .neverExceededRequested();
+    }
+}
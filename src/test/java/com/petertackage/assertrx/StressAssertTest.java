@@ -0,0 +1,206 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.functions.Func0;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class StressAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void neverFails_doesNotAssert_whenEveryIterationPasses() {
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.range(0, 10).subscribeOn(Schedulers.computation());
+            }
+        }).withIterations(200)
+                .withWorkers(4)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasValueCount(10).hasCompleted();
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_withOutcomeHistogram() {
+        expectAssertionErrorWithMessage(String.format("Expected all <100> iterations to pass, but <50> failed. Outcomes:%n"
+                + "  <50> iterations: Expected onNext events: <[1]>, but was: <[2]>."));
+        thrown.expectMessage(String.format("%n  <50> iterations passed"));
+
+        alternating().withIterations(100)
+                .withWorkers(4)
+                .neverFails();
+    }
+
+    @Test
+    public void withTimeout_asserts_whenNotPositive() {
+        expectAssertionErrorWithMessage(String.format("Expecting:%n <0L>%nto be greater than:%n <0L>"));
+
+        alternating().withTimeout(0, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void failsAtMostFraction_doesNotAssert_whenWithinFraction() {
+        alternating().withIterations(100)
+                .withWorkers(3)
+                .failsAtMostFraction(0.5);
+    }
+
+    @Test
+    public void failsAtMostFraction_asserts_whenAboveFraction() {
+        expectAssertionErrorWithMessage("Expected at most <0.25> of iterations to fail, but <50> of <100> failed. Outcomes:");
+
+        alternating().withIterations(100)
+                .withWorkers(3)
+                .failsAtMostFraction(0.25);
+    }
+
+    @Test
+    public void neverFails_countsExceptionsAsOutcomes() {
+        expectAssertionErrorWithMessage(String.format("Expected all <10> iterations to pass, but <10> failed. Outcomes:%n"
+                + "  <10> iterations: java.lang.IllegalStateException: broken factory"));
+
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                throw new IllegalStateException("broken factory");
+            }
+        }).withIterations(10)
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_whenFailureMessageIsPassed() {
+        expectAssertionErrorWithMessage(String.format("Expected all <10> iterations to pass, but <10> failed. Outcomes:%n"
+                + "  <10> iterations: passed"));
+
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.just(1);
+            }
+        }).withIterations(10)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        throw new AssertionError("passed");
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_usesSubscribersFromFactory() {
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.range(0, 10).subscribeOn(Schedulers.computation());
+            }
+        }, new Func0<TestSubscriber<Integer>>() {
+            @Override
+            public TestSubscriber<Integer> call() {
+                return new SerializationCheckingTestSubscriber<Integer>();
+            }
+        }).withIterations(100)
+                .withWorkers(4)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasSerializedEmissions().hasValueCount(10);
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_asserts_whenChecksNeedSubscriberFromFactory() {
+        expectAssertionErrorWithMessage("Expected all <20> iterations to pass, but <20> failed. Outcomes:");
+        thrown.expectMessage(String.format("%n  <1> iterations: Expected an instance of SerializationCheckingTestSubscriber, but was: <rx.observers.TestSubscriber@"));
+
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.just(1);
+            }
+        }).withIterations(20)
+                .checking(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasSerializedEmissions();
+                    }
+                })
+                .neverFails();
+    }
+
+    @Test
+    public void neverFails_runsIterationsOnWorkerThreads() {
+        final Set<String> threads = Collections.synchronizedSet(new HashSet<String>());
+        Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                threads.add(Thread.currentThread().getName());
+                return Observable.just(1);
+            }
+        }).withIterations(40)
+                .withWorkers(4)
+                .neverFails();
+
+        assertThat(threads).containsOnly("assert-rx-stress-1", "assert-rx-stress-2",
+                "assert-rx-stress-3", "assert-rx-stress-4");
+    }
+
+    private static StressAssert<Integer> alternating() {
+        final AtomicInteger created = new AtomicInteger();
+        return Assertions.assertThatStressed(new Func0<Observable<Integer>>() {
+            @Override
+            public Observable<Integer> call() {
+                return Observable.just(created.getAndIncrement() % 2 == 0 ? 1 : 2);
+            }
+        }).checking(new Action1<TestSubscriberAssert<Integer>>() {
+            @Override
+            public void call(final TestSubscriberAssert<Integer> ts) {
+                ts.hasReceivedValue(1);
+            }
+        });
+    }
+
+    private void expectAssertionErrorWithMessage(final String message) {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(message);
+    }
+
+}
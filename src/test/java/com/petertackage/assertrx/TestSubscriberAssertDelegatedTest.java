@@ -18,7 +18,6 @@ package com.petertackage.assertrx;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
-import org.mockito.Matchers;
 import rx.Observable;
 import rx.observers.TestSubscriber;
 
@@ -83,46 +82,6 @@ public class TestSubscriberAssertDelegatedTest {
         verify(ts).assertNoValues();
     }
 
-    @Test
-    public void hasReceivedValue_invokesTestSubscriberAssertValue() {
-        Integer value = 1;
-        Observable<Integer> oi = Observable.just(value);
-        //noinspection unchecked
-        TestSubscriber<Integer> ts = mock(TestSubscriber.class);
-        oi.subscribe(ts);
-
-        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValue(value);
-
-        verify(ts).assertValue(eq(value));
-    }
-
-    @Test
-    public void hasReceivedValues_invokesTestSubscriberAssertReceivedOnNextValue_whenMultiple() {
-        List<Integer> values = Arrays.asList(1, 2, 3);
-        Observable<Integer> oi = Observable.from(values);
-        // Requires spy as decoration of TestSubscriber as Subscriber accesses TestSubscriber instance internals
-        // which are not initialized when using a mock.
-        TestSubscriber<Integer> ts = spy(new TestSubscriber<Integer>());
-        oi.subscribe(ts);
-
-        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(values);
-
-        verify(ts).assertReceivedOnNext(eq(values));
-    }
-
-    @Test
-    public void hasReceivedValuesVarArgs_invokesTestSubscriberAssertValues_whenMultiple() {
-        Integer[] values = {1, 2, 3};
-        Observable<Integer> oi = Observable.from(values);
-        //noinspection unchecked
-        TestSubscriber<Integer> ts = mock(TestSubscriber.class);
-        oi.subscribe(ts);
-
-        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(1, 2, 3);
-
-        verify(ts).assertValues(Matchers.<Integer>anyVararg());
-    }
-
     @Test
     public void hasValueCount_invokesTestSubscriberAssertValueCount() {
         List<Integer> values = Arrays.asList(1, 2, 3);
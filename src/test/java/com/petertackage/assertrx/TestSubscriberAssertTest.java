@@ -20,12 +20,31 @@ import org.assertj.core.api.AbstractObjectAssert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
 import rx.Observable;
+import rx.Observer;
+import rx.Subscriber;
+import rx.functions.Action0;
+import rx.functions.Func1;
 import rx.observers.TestSubscriber;
-
+import rx.schedulers.Schedulers;
+import rx.schedulers.TestScheduler;
+import rx.subjects.PublishSubject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.mock;
@@ -33,9 +52,40 @@ import static org.mockito.Mockito.when;
 
 public class TestSubscriberAssertTest {
 
+    private static final Func1<Integer, Boolean> IS_NON_NEGATIVE = new Func1<Integer, Boolean>() {
+        @Override
+        public Boolean call(final Integer value) {
+            return value >= 0;
+        }
+    };
+
+    private static final Func1<Integer, Boolean> IS_EVEN = new Func1<Integer, Boolean>() {
+        @Override
+        public Boolean call(final Integer value) {
+            return value % 2 == 0;
+        }
+    };
+
+    private static final Func1<String, Integer> LENGTH = new Func1<String, Integer>() {
+        @Override
+        public Integer call(final String value) {
+            return value.length();
+        }
+    };
+
+    private static final Func1<Integer, Long> SQUARE = new Func1<Integer, Long>() {
+        @Override
+        public Long call(final Integer value) {
+            return (long) value * value;
+        }
+    };
+
     @Rule
     public ExpectedException thrown = ExpectedException.none();
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     // Higher Order tests - these don't use TestSubscriber assertions.
 
     // hasReceivedFirstValue
@@ -466,9 +516,1083 @@ public class TestSubscriberAssertTest {
         new TestSubscriberAssert<Object>(ts, TestSubscriberAssert.class).hasErrorWhich();
     }
 
+    // afterTerminalEvent(TestScheduler, long, TimeUnit)
+
+    @Test
+    public void afterTerminalEventOnScheduler_stopsSoonAfterTerminalEvent_whenBeforeDeadline() {
+        TestScheduler scheduler = new TestScheduler();
+        Observable<Long> oi = Observable.timer(3, TimeUnit.SECONDS, scheduler);
+        TestSubscriber<Long> ts = new TestSubscriber<Long>();
+        oi.subscribe(ts);
+
+        new TestSubscriberAssert<Long>(ts, TestSubscriberAssert.class)
+                .afterTerminalEvent(scheduler, 1, TimeUnit.HOURS)
+                .hasCompleted();
+
+        assertThat(scheduler.now()).isGreaterThanOrEqualTo(TimeUnit.SECONDS.toMillis(3))
+                .isLessThan(TimeUnit.SECONDS.toMillis(6));
+    }
+
+    @Test
+    public void afterTerminalEventOnScheduler_stopsAtDeadline_whenNoTerminalEvent() {
+        TestScheduler scheduler = new TestScheduler();
+        Observable<Long> oi = Observable.interval(1, TimeUnit.SECONDS, scheduler);
+        TestSubscriber<Long> ts = new TestSubscriber<Long>();
+        oi.subscribe(ts);
+
+        new TestSubscriberAssert<Long>(ts, TestSubscriberAssert.class)
+                .afterTerminalEvent(scheduler, 10, TimeUnit.SECONDS)
+                .hasNoTerminalEvent()
+                .hasValueCount(10);
+
+        assertThat(scheduler.now()).isEqualTo(TimeUnit.SECONDS.toMillis(10));
+    }
+
+    @Test
+    public void afterTerminalEventOnScheduler_takesFewSteps_whenQuiet() {
+        final AtomicInteger steps = new AtomicInteger();
+        TestScheduler scheduler = new TestScheduler() {
+            @Override
+            public void advanceTimeBy(final long delayTime, final TimeUnit unit) {
+                steps.incrementAndGet();
+                super.advanceTimeBy(delayTime, unit);
+            }
+        };
+        Observable<Object> oi = Observable.never().timeout(10, TimeUnit.DAYS, scheduler);
+        TestSubscriber<Object> ts = new TestSubscriber<Object>();
+        oi.subscribe(ts);
+
+        new TestSubscriberAssert<Object>(ts, TestSubscriberAssert.class)
+                .afterTerminalEvent(scheduler, 1, TimeUnit.HOURS)
+                .hasNoTerminalEvent();
+
+        assertThat(scheduler.now()).isEqualTo(TimeUnit.HOURS.toMillis(1));
+        assertThat(steps.get()).isLessThan(32);
+    }
+
+    @Test
+    public void afterTerminalEventOnScheduler_receivesTimeout_withoutWaitingInRealTime() {
+        TestScheduler scheduler = new TestScheduler();
+        Observable<Object> oi = Observable.never().timeout(10, TimeUnit.MINUTES, scheduler);
+        TestSubscriber<Object> ts = new TestSubscriber<Object>();
+        oi.subscribe(ts);
+
+        new TestSubscriberAssert<Object>(ts, TestSubscriberAssert.class)
+                .afterTerminalEvent(scheduler, 1, TimeUnit.HOURS)
+                .hasError(TimeoutException.class);
+    }
+
+    // hasReceivedValues
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenEqual() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1, 2, 3).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(1, 2, 3);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_withFirstMismatchIndex() {
+        expectAssertionErrorWithMessage("Expected onNext events: <[1, 5, 3]>, but was: <[1, 2, 3]>. First mismatch at index <1> of <3> expected and <3> received.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1, 2, 3).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(1, 5, 3);
+    }
+
+    @Test
+    public void hasReceivedValues_asserts_whenFewerReceived() {
+        expectAssertionErrorWithMessage("First mismatch at index <2> of <3> expected and <2> received.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1, 2).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(1, 2, 3);
+    }
+
+    @Test
+    public void hasReceivedValues_doesNotAssert_whenListEqual() {
+        List<Integer> values = Arrays.asList(1, 2, 3);
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.from(values).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(values);
+    }
+
+    @Test
+    public void hasReceivedValue_doesNotAssert_whenSingleEqual() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValue(1);
+    }
+
+    @Test
+    public void hasReceivedValue_asserts_whenMultipleReceived() {
+        expectAssertionErrorWithMessage("Expected onNext events: <[1]>, but was: <[1, 2]>. First mismatch at index <1> of <1> expected and <2> received.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1, 2).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValue(1);
+    }
+
+    @Test
+    public void hasReceivedValues_truncatesMessage_whenManyValues() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 1000000).subscribe(ts);
+        List<Integer> expected = new ArrayList<Integer>(ts.getOnNextEvents());
+        expected.set(500000, -1);
+
+        try {
+            new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValues(expected);
+        } catch (AssertionError e) {
+            assertThat(e.getMessage().length()).isLessThan(3 * Messages.DEFAULT_MAX_VALUES_LENGTH);
+            assertThat(e.getMessage())
+                    .contains("[... <499998> more ..., 499998, 499999, -1, 500001")
+                    .contains("(1000000 values)")
+                    .contains("First mismatch at index <500000>");
+            return;
+        }
+        throw new AssertionError("Expected failure");
+    }
+
+    @Test
+    public void hasReceivedValues_comparesIterableAsSingleValue_whenObjectSubscriber() {
+        List<Integer> value = Arrays.asList(1, 2);
+        TestSubscriber<Object> ts = new TestSubscriber<Object>();
+        Observable.<Object>just(value).subscribe(ts);
+
+        new TestSubscriberAssert<Object>(ts, TestSubscriberAssert.class).hasReceivedValues(value);
+    }
+
+    @Test
+    public void hasReceivedValuesFromIterable_doesNotAssert_whenEqual() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 10000).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class)
+                .hasReceivedValuesFrom(Observable.range(0, 10000).toBlocking().toIterable());
+    }
+
+    @Test
+    public void hasReceivedValuesFromIterator_asserts_withContextWindow() {
+        expectAssertionErrorWithMessage("Expected onNext event at index <5> to be: <-1>, but was: <5>. Expected from index <2>: <[2, 3, 4, -1, 6, 7, 8]>, but received: <[2, 3, 4, 5, 6, 7, 8]>.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 100).subscribe(ts);
+        List<Integer> expected = new ArrayList<Integer>(ts.getOnNextEvents());
+        expected.set(5, -1);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValuesFrom(expected.iterator());
+    }
+
+    @Test
+    public void hasReceivedValuesFromIterator_asserts_whenFewerReceived() {
+        expectAssertionErrorWithMessage("Expected onNext event at index <2> to be: <2>, but only <2> were received. Expected from index <0>: <[0, 1, 2, 3]>, but received: <[0, 1]>.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 2).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class)
+                .hasReceivedValuesFrom(Arrays.asList(0, 1, 2, 3).iterator());
+    }
+
+    @Test
+    public void hasReceivedValuesFromIterator_asserts_whenMoreReceived() {
+        expectAssertionErrorWithMessage("Expected <2> onNext events, but received: <10>. Received from index <2>: <[2, 3, 4]>.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 10).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class)
+                .hasReceivedValuesFrom(Arrays.asList(0, 1).iterator());
+    }
+
+    @Test
+    public void hasReceivedValuesFromObservable_unsubscribesFromExpected_onMismatch() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(0, 1, 2).subscribe(ts);
+        final AtomicBoolean unsubscribed = new AtomicBoolean();
+        Observable<Integer> expected = Observable.range(5, Integer.MAX_VALUE - 5)
+                .doOnUnsubscribe(new Action0() {
+                    @Override
+                    public void call() {
+                        unsubscribed.set(true);
+                    }
+                });
+
+        try {
+            new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedValuesFrom(expected);
+        } catch (AssertionError e) {
+            assertThat(e.getMessage()).startsWith("Expected onNext event at index <0> to be: <5>, but was: <0>.");
+            assertThat(unsubscribed.get()).isTrue();
+            return;
+        }
+        throw new AssertionError("Expected failure");
+    }
+
+    @Test
+    public void hasReceivedAnyValue_truncatesMessage_whenManyValues() {
+        expectAssertionErrorWithMessage("Expected a single onNext value, but was: <[0, 1, 2");
+        thrown.expectMessage("999999] (1000000 values)>.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 1000000).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasReceivedAnyValue();
+    }
+
+    // Ordering
+
+    @Test
+    public void hasValuesInOrder_doesNotAssert_whenNonDecreasing() {
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", "b", "b", "c").subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class)
+                .hasValuesInOrder(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    @Test
+    public void hasValuesInOrder_asserts_withFirstOutOfOrderIndex() {
+        expectAssertionErrorWithMessage("Expected onNext events to be in order, but value at index <2> was: <a> after: <c>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("b", "c", "a", "0").subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class)
+                .hasValuesInOrder(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    @Test
+    public void hasStrictlyIncreasingValues_asserts_whenEqualAdjacent() {
+        expectAssertionErrorWithMessage("Expected onNext events to be strictly increasing, but value at index <2> was: <B> after: <b>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", "b", "B").subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class)
+                .hasStrictlyIncreasingValues(String.CASE_INSENSITIVE_ORDER);
+    }
+
+    @Test
+    public void hasStrictlyIncreasingValues_doesNotAssert_whenIncreasing() {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 100000).subscribe(ts);
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class)
+                .hasStrictlyIncreasingValues(new Comparator<Integer>() {
+                    @Override
+                    public int compare(final Integer first, final Integer second) {
+                        return first.compareTo(second);
+                    }
+                });
+    }
+
+    @Test
+    public void hasValuesOrderedBy_asserts_withFirstOutOfOrderIndex() {
+        expectAssertionErrorWithMessage("Expected onNext events to be ordered by key, but value at index <3> with key: <1> was after key: <3> (value: <z>).");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("x", "yy", "xyz", "z").subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class).hasValuesOrderedBy(new Func1<String, Integer>() {
+            @Override
+            public Integer call(final String value) {
+                return value.length();
+            }
+        });
+    }
+
+    @Test
+    public void hasValuesOrderedBy_asserts_withIndexOfNullKey() {
+        expectAssertionErrorWithMessage("Expected onNext events to have non-null keys, but value at index <1> did not: <>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("x", "", "xyz").subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class).hasValuesOrderedBy(new Func1<String, Integer>() {
+            @Override
+            public Integer call(final String value) {
+                return value.isEmpty() ? null : value.length();
+            }
+        });
+    }
+
+    @Test
+    public void hasValuesOrderedBy_doesNotAssert_whenEmpty() {
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.<String>empty().subscribe(ts);
+
+        new TestSubscriberAssert<String>(ts, TestSubscriberAssert.class).hasValuesOrderedBy(new Func1<String, Integer>() {
+            @Override
+            public Integer call(final String value) {
+                return value.length();
+            }
+        });
+    }
+
+    // afterValueMatching
+
+    @Test
+    public void afterValueMatching_doesNotAssert_whenMatchingValueArrives() {
+        AwaitableTestSubscriber<Long> ts = new AwaitableTestSubscriber<Long>();
+        Observable.interval(1, TimeUnit.MILLISECONDS).subscribe(ts);
+
+        Assertions.assertThat(ts).afterValueMatching(equalTo(20L), 10, TimeUnit.SECONDS)
+                .hasNoErrors();
+        ts.unsubscribe();
+    }
+
+    @Test
+    public void afterValueMatching_asserts_whenCompletedWithoutMatch() {
+        expectAssertionErrorWithMessage(
+                "Expected an onNext event matching the predicate within <10 SECONDS>, but none of <3> received did.");
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).afterValueMatching(equalTo(42), 10, TimeUnit.SECONDS);
+    }
+
+    // afterValueCount
+
+    @Test
+    public void afterValueCount_asserts_whenTimeoutElapses() {
+        expectAssertionErrorWithMessage("Expected <2> onNext events within <10 MILLISECONDS>, but received: <1>.");
+        AwaitableTestSubscriber<Integer> ts = new AwaitableTestSubscriber<Integer>();
+        PublishSubject<Integer> subject = PublishSubject.create();
+        subject.subscribe(ts);
+        subject.onNext(1);
+
+        Assertions.assertThat(ts).afterValueCount(2, 10, TimeUnit.MILLISECONDS);
+    }
+
+    // hasAtMostEventsAfterUnsubscribe
+
+    @Test
+    public void hasAtMostEventsAfterUnsubscribe_asserts_whenMoreEvents() {
+        expectAssertionErrorWithMessage("Expected at most <1> events after unsubscribing, but was: <2>.");
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        ts.onNext(1);
+        ts.unsubscribe();
+        ts.onNext(2);
+        ts.onCompleted();
+
+        Assertions.assertThat(ts).hasAtMostEventsAfterUnsubscribe(1);
+    }
+
+    // hasStoppedWithin
+
+    @Test
+    public void hasStoppedWithin_doesNotAssert_whenNoEventsAfterUnsubscribe() {
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        ts.onNext(1);
+        ts.unsubscribe();
+
+        Assertions.assertThat(ts).hasStoppedWithin(5, TimeUnit.MILLISECONDS)
+                .hasAtMostEventsAfterUnsubscribe(0);
+    }
+
+    @Test
+    public void hasStoppedWithin_asserts_whenEventArrivesLate() throws InterruptedException {
+        expectAssertionErrorWithMessage("Expected events to stop within <5 MILLISECONDS> of unsubscribing, but <1> event(s) arrived afterwards, the last after: <");
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        ts.unsubscribe();
+        Thread.sleep(20);
+        ts.onNext(1);
+
+        Assertions.assertThat(ts).hasStoppedWithin(5, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void hasStoppedWithin_asserts_whenNotUnsubscribed() {
+        expectAssertionErrorWithMessage("Expected to have been unsubscribed, but was not.");
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+
+        Assertions.assertThat(ts).hasStoppedWithin(5, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void hasStoppedWithin_rejectsLatencyWhichWouldOverflow() {
+        expectAssertionErrorWithMessage("to be between:");
+        CancellationRecordingTestSubscriber<Integer> ts = new CancellationRecordingTestSubscriber<Integer>();
+        ts.unsubscribe();
+
+        Assertions.assertThat(ts).hasStoppedWithin(Long.MAX_VALUE, TimeUnit.DAYS);
+    }
+
+    @Test
+    public void hasStoppedWithin_asserts_whenNotCancellationRecordingTestSubscriber() {
+        expectAssertionErrorWithMessage("Expected an instance of CancellationRecordingTestSubscriber");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasStoppedWithin(5, TimeUnit.MILLISECONDS);
+    }
+
+    // hasNoDuplicateValues
+
+    @Test
+    public void hasNoDuplicateValues_doesNotAssert_whenDistinct() {
+        Assertions.assertThat(range(0, 200000)).hasNoDuplicateValues();
+    }
+
+    @Test
+    public void hasNoDuplicateValues_doesNotAssert_whenDistinctWithBloomPreFilter() {
+        Assertions.assertThat(range(0, 200000)).usingBloomPreFilter().hasNoDuplicateValues();
+    }
+
+    @Test
+    public void hasNoDuplicateValues_asserts_withBothIndexes() {
+        expectAssertionErrorWithMessage("Expected no duplicate onNext events, but value at index <4> was equal to the value at index <1>: <b>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", "b", null, "c", "b", null).subscribe(ts);
+
+        Assertions.assertThat(ts).hasNoDuplicateValues();
+    }
+
+    @Test
+    public void hasNoDuplicateValues_asserts_whenNullRepeated() {
+        expectAssertionErrorWithMessage("Expected no duplicate onNext events, but value at index <3> was equal to the value at index <1>: <null>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", null, "c", null).subscribe(ts);
+
+        Assertions.assertThat(ts).usingBloomPreFilter().hasNoDuplicateValues();
+    }
+
+    @Test
+    public void hasNoDuplicateValues_asserts_whenHashesCollide() {
+        // "Aa" and "BB" have equal hash codes.
+        expectAssertionErrorWithMessage("value at index <3> was equal to the value at index <1>: <BB>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("Aa", "BB", "C", "BB").subscribe(ts);
+
+        Assertions.assertThat(ts).hasNoDuplicateValues();
+    }
+
+    // hasNoDuplicatesBy
+
+    @Test
+    public void hasNoDuplicatesBy_asserts_withBothIndexes() {
+        expectAssertionErrorWithMessage("Expected no duplicate keys, but value at index <2>: <cc> had the same key: <2> as the value at index <1>: <bb>.");
+        TestSubscriber<String> ts = new TestSubscriber<String>();
+        Observable.just("a", "bb", "cc").subscribe(ts);
+
+        Assertions.assertThat(ts).hasNoDuplicatesBy(LENGTH);
+    }
+
+    // hasNoDuplicatesByLongKey
+
+    @Test
+    public void hasNoDuplicatesByLongKey_asserts_withBothIndexes() {
+        expectAssertionErrorWithMessage("Expected no duplicate keys, but value at index <100001>: <-3> had the same key: <9> as the value at index <3>: <3>.");
+        TestSubscriber<Integer> ts = range(0, 100000);
+        ts.onNext(-100001);
+        ts.onNext(-3);
+
+        Assertions.assertThat(ts).hasNoDuplicatesByLongKey(SQUARE);
+    }
+
+    @Test
+    public void hasNoDuplicatesByLongKey_doesNotAssert_whenDistinct() {
+        Assertions.assertThat(range(0, 200000)).hasNoDuplicatesByLongKey(SQUARE);
+        Assertions.assertThat(range(0, 200000)).usingBloomPreFilter().hasNoDuplicatesByLongKey(SQUARE);
+    }
+
+    @Test
+    public void hasNoDuplicatesByLongKey_asserts_withIndexOfNullKey() {
+        expectAssertionErrorWithMessage("Expected onNext events to have non-null keys, but value at index <2> did not: <-1>.");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(1, 2, -1, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).usingBloomPreFilter().hasNoDuplicatesByLongKey(new Func1<Integer, Long>() {
+            @Override
+            public Long call(final Integer value) {
+                return value < 0 ? null : (long) value;
+            }
+        });
+    }
+
+    // hasMetExpectations
+
+    @Test
+    public void hasMetExpectations_doesNotAssert_whenAllExpectationsMet() {
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>()
+                .expectValuesStartingWith(1, 2)
+                .expectEachValue(isPositive())
+                .expectAtMostValues(3)
+                .expectNoErrors();
+        Observable.just(1, 2, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasMetExpectations()
+                .hasCompleted();
+    }
+
+    @Test
+    public void hasMetExpectations_asserts_whenValueFailsPredicate() {
+        expectAssertionErrorWithMessage("Expected onNext event at index <2> to satisfy the expectation, but was: <-1>.");
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>()
+                .expectEachValue(isPositive());
+        Observable.just(1, 2, -1, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasMetExpectations();
+    }
+
+    @Test
+    public void hasMetExpectations_asserts_whenCompletedBeforePrefix() {
+        expectAssertionErrorWithMessage("Expected onNext events to start with: <[1, 2]>, but completed after: <[1]>.");
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>()
+                .expectValuesStartingWith(1, 2);
+        Observable.just(1).subscribe(ts);
+
+        Assertions.assertThat(ts).hasMetExpectations();
+    }
+
+    @Test
+    public void hasMetExpectations_asserts_whenErrorAndNoErrorsExpected() {
+        IOException error = new IOException();
+        expectAssertionErrorWithMessage(String.format("Expected no onError events, but received: <%s>.", error));
+        ExpectingTestSubscriber<Integer> ts = new ExpectingTestSubscriber<Integer>()
+                .expectNoErrors();
+        Observable.<Integer>error(error).subscribe(ts);
+
+        Assertions.assertThat(ts).hasMetExpectations();
+    }
+
+    @Test
+    public void hasMetExpectations_asserts_whenNotExpectingTestSubscriber() {
+        expectAssertionErrorWithMessage("Expected an instance of ExpectingTestSubscriber");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).hasMetExpectations();
+    }
+
+    // afterTerminalEvent()
+
+    @Test
+    public void afterTerminalEvent_assertsPromptly_whenInfiniteStreamExceedsMaxCount() {
+        expectAssertionErrorWithMessage("Expected at most <5> onNext events, but received another: <5>.");
+        ExpectingTestSubscriber<Long> ts = new ExpectingTestSubscriber<Long>()
+                .expectAtMostValues(5);
+        Observable.interval(1, TimeUnit.MILLISECONDS).subscribe(ts);
+
+        Assertions.assertThat(ts).afterTerminalEvent();
+    }
+
+    // matchesRecording
+
+    @Test
+    public void matchesRecording_doesNotAssert_whenEqual() throws IOException {
+        File file = folder.newFile();
+        TestSubscriber<Integer> recorded = new TestSubscriber<Integer>();
+        Observable.range(0, 100000).subscribe(recorded);
+        Recordings.record(recorded, file, ValueCodecs.integers());
+
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 100000).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenValueDiffers() throws IOException {
+        expectAssertionErrorWithMessage("Expected onNext event at index <2> to match recording: <2>, but was: <-1>.");
+        File file = recordRange(0, 5);
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(0, 1, -1, 3, 4).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenFewerReceived() throws IOException {
+        expectAssertionErrorWithMessage("Expected onNext event at index <3> to match recording: <3>, but only <3> were received.");
+        File file = recordRange(0, 5);
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenMoreReceived() throws IOException {
+        expectAssertionErrorWithMessage("Expected <5> onNext events to match recording, but received: <6>.");
+        File file = recordRange(0, 5);
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 6).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenErrorDiffers() throws IOException {
+        expectAssertionErrorWithMessage("Expected onError event to match recording: <java.lang.IllegalStateException: boom>, but was: <java.lang.IllegalStateException: bang>.");
+        File file = folder.newFile();
+        TestSubscriber<Integer> recorded = new TestSubscriber<Integer>();
+        Observable.<Integer>error(new IllegalStateException("boom")).subscribe(recorded);
+        Recordings.record(recorded, file, ValueCodecs.integers());
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.<Integer>error(new IllegalStateException("bang")).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenNotCompleted() throws IOException {
+        expectAssertionErrorWithMessage("Expected <1> onCompleted events to match recording, but received: <0>.");
+        File file = recordRange(0, 1);
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.just(0).concatWith(Observable.<Integer>never()).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenNotRecording() throws IOException {
+        File file = folder.newFile();
+        FileOutputStream out = new FileOutputStream(file);
+        out.write(new byte[]{1, 2, 3, 4, 5, 6, 7, 8});
+        out.close();
+        expectAssertionErrorWithMessage("Could not read recording: <" + file + "> (Not a recording: " + file + ").");
+
+        Assertions.assertThat(new TestSubscriber<Integer>()).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    @Test
+    public void matchesRecording_asserts_whenTruncated() throws IOException {
+        File file = recordRange(0, 2);
+        RandomAccessFile raf = new RandomAccessFile(file, "rw");
+        raf.setLength(raf.length() - 3);
+        raf.close();
+        expectAssertionErrorWithMessage("(Truncated recording at byte");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, 2).subscribe(ts);
+
+        Assertions.assertThat(ts).matchesRecording(file, ValueCodecs.integers());
+    }
+
+    // neverRequestedUnbounded
+
+    @Test
+    public void neverRequestedUnbounded_asserts_whenNoInitialRequest() {
+        expectAssertionErrorWithMessage("Expected no unbounded request, but requests were: <[9223372036854775807]>.");
+        RequestRecordingTestSubscriber<Integer> ts = new RequestRecordingTestSubscriber<Integer>();
+        Observable.range(0, 10).subscribe(ts);
+
+        Assertions.assertThat(ts).neverRequestedUnbounded();
+    }
+
+    // hasRequestedTotal
+
+    @Test
+    public void hasRequestedTotal_saturates_whenUnbounded() {
+        RequestRecordingTestSubscriber<Integer> ts = new RequestRecordingTestSubscriber<Integer>();
+        Observable.range(0, 10).subscribe(ts);
+        ts.requestMore(5);
+
+        Assertions.assertThat(ts).hasRequestedTotal(Long.MAX_VALUE);
+    }
+
+    // neverExceededRequested
+
+    @Test
+    public void neverExceededRequested_asserts_whenSourceIgnoresBackpressure() {
+        expectAssertionErrorWithMessage(
+                "Expected onNext events not to exceed the amount requested, but onNext event at index <2> exceeded it (requests: <[2]>).");
+        RequestRecordingTestSubscriber<Integer> ts = new RequestRecordingTestSubscriber<Integer>(2);
+        Observable.create(new Observable.OnSubscribe<Integer>() {
+            @Override
+            public void call(final Subscriber<? super Integer> subscriber) {
+                subscriber.setProducer(new rx.Producer() {
+                    @Override
+                    public void request(final long n) {
+                        // Ignores n and emits more than requested.
+                        for (int i = 0; i < 5; i++) {
+                            subscriber.onNext(i);
+                        }
+                    }
+                });
+            }
+        }).subscribe(ts);
+
+        Assertions.assertThat(ts).neverExceededRequested();
+    }
+
+    // hasRequestBatchSizes
+
+    @Test
+    public void hasRequestBatchSizes_asserts_whenNotEqual() {
+        expectAssertionErrorWithMessage("Expected request amounts: <[1, 1]>, but was: <[2]>.");
+        RequestRecordingTestSubscriber<Integer> ts = new RequestRecordingTestSubscriber<Integer>(2);
+        Observable.range(0, 10).subscribe(ts);
+
+        Assertions.assertThat(ts).hasRequestBatchSizes(1, 1);
+    }
+
+    // hasSerializedEmissions
+
+    @Test
+    public void hasSerializedEmissions_doesNotAssert_whenSerialized() {
+        SerializationCheckingTestSubscriber<Integer> ts = new SerializationCheckingTestSubscriber<Integer>();
+        Observable.range(0, 1000)
+                .subscribeOn(Schedulers.newThread())
+                .observeOn(Schedulers.computation())
+                .subscribe(ts);
+        ts.awaitTerminalEvent();
+
+        assertThat(ts.getViolationCount()).isEqualTo(0);
+        assertThat(ts.getFirstViolation()).isNull();
+        Assertions.assertThat(ts).hasSerializedEmissions();
+    }
+
+    @Test
+    public void hasSerializedEmissions_asserts_whenOnNextOverlaps() throws InterruptedException {
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        final SerializationCheckingTestSubscriber<Integer> ts = new SerializationCheckingTestSubscriber<Integer>(new BlockingObserver(entered, release));
+        final Thread blocked = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ts.onNext(0);
+            }
+        }, "blocked");
+        blocked.start();
+        entered.await();
+
+        ts.onNext(1);
+        release.countDown();
+        blocked.join();
+
+        assertThat(ts.getViolationCount()).isEqualTo(1);
+        SerializationCheckingTestSubscriber.Violation violation = ts.getFirstViolation();
+        assertThat(violation.getEventIndex()).isEqualTo(1);
+        assertThat(violation.getThread()).isEqualTo(Thread.currentThread());
+        assertThat(violation.getInFlightEventIndex()).isEqualTo(0);
+        assertThat(violation.getInFlightThread()).isEqualTo(blocked);
+
+        expectAssertionErrorWithMessage(String.format(
+                "Expected serialized emissions, but <1> event(s) overlapped. First, event at index <1> on: <%s> overlapped event at index <0> on: <%s>.",
+                Thread.currentThread(), blocked));
+        Assertions.assertThat(ts).hasSerializedEmissions();
+    }
+
+    @Test
+    public void hasSerializedEmissions_asserts_whenNotSerializationCheckingTestSubscriber() {
+        expectAssertionErrorWithMessage("Expected an instance of SerializationCheckingTestSubscriber");
+
+        new TestSubscriberAssert<Integer>(new TestSubscriber<Integer>(), TestSubscriberAssert.class)
+                .hasSerializedEmissions();
+    }
+
+    // wasAlwaysObservedOn
+
+    @Test
+    public void wasAlwaysObservedOn_doesNotAssert_whenSingleThread() {
+        ThreadRecordingTestSubscriber<Integer> ts = new ThreadRecordingTestSubscriber<Integer>();
+        Observable.range(0, 100).subscribe(ts);
+
+        Assertions.assertThat(ts).wasAlwaysObservedOn(Thread.currentThread())
+                .hasThreadHopCountAtMost(0);
+    }
+
+    @Test
+    public void wasAlwaysObservedOn_asserts_whenLastEventOnOtherThread() throws InterruptedException {
+        final Thread current = Thread.currentThread();
+        expectAssertionErrorWithMessage(String.format("Expected to always be observed on: <%s>, but event at index <2> was observed on: <Thread[other", current));
+        final ThreadRecordingTestSubscriber<Integer> ts = new ThreadRecordingTestSubscriber<Integer>();
+        ts.onNext(1);
+        ts.onNext(2);
+        Thread other = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                ts.onCompleted();
+            }
+        }, "other");
+        other.start();
+        other.join();
+
+        // Passes the existing check, which only considers the last seen thread.
+        assertThat(ts.getLastSeenThread()).isNotEqualTo(current);
+        Assertions.assertThat(ts).wasAlwaysObservedOn(current);
+    }
+
+    @Test
+    public void wasAlwaysObservedOn_asserts_whenNotThreadRecordingTestSubscriber() {
+        expectAssertionErrorWithMessage("Expected an instance of ThreadRecordingTestSubscriber");
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+
+        new TestSubscriberAssert<Integer>(ts, TestSubscriberAssert.class).wasAlwaysObservedOn(Thread.currentThread());
+    }
+
+    // wasObservedOnThreadsMatching
+
+    @Test
+    public void wasObservedOnThreadsMatching_asserts_whenThreadDoesNotMatch() {
+        expectAssertionErrorWithMessage("Expected to be observed on threads matching the predicate, but event at index <0> was observed on: <");
+        ThreadRecordingTestSubscriber<Integer> ts = new ThreadRecordingTestSubscriber<Integer>();
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).wasObservedOnThreadsMatching(new Func1<Thread, Boolean>() {
+            @Override
+            public Boolean call(final Thread thread) {
+                return thread.getName().startsWith("RxComputation");
+            }
+        });
+    }
+
+    // hasThreadHopCountAtMost
+
+    @Test
+    public void hasThreadHopCountAtMost_asserts_whenPipelineBouncesAcrossSchedulers() {
+        expectAssertionErrorWithMessage("Expected at most <0> thread hops, but was: <");
+        ThreadRecordingTestSubscriber<Integer> ts = new ThreadRecordingTestSubscriber<Integer>();
+        Observable.just(1)
+                .concatWith(Observable.just(2).subscribeOn(Schedulers.newThread()))
+                .subscribe(ts);
+        ts.awaitTerminalEvent();
+
+        Assertions.assertThat(ts).hasThreadHopCountAtMost(0);
+    }
+
+    // hasInterArrivalLatencyPercentileBelow
+
+    @Test
+    public void timingAssertions_doNotAssert_whenFast() {
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        Observable.range(0, 100).subscribe(ts);
+
+        Assertions.assertThat(ts).hasInterArrivalLatencyPercentileBelow(99, 10, TimeUnit.SECONDS)
+                .hasTimeToFirstValueBelow(10, TimeUnit.SECONDS)
+                .hasTimeToTerminalEventBelow(10, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void hasInterArrivalLatencyPercentileBelow_asserts_whenSlow() throws InterruptedException {
+        expectAssertionErrorWithMessage("Expected the <50.0>th percentile inter-arrival latency to be below <1 MILLISECONDS>");
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        ts.onStart();
+        ts.onNext(1);
+        Thread.sleep(20);
+        ts.onNext(2);
+
+        Assertions.assertThat(ts).hasInterArrivalLatencyPercentileBelow(50, 1, TimeUnit.MILLISECONDS);
+    }
+
+    @Test
+    public void hasInterArrivalLatencyPercentileBelow_asserts_whenSingleValue() {
+        expectAssertionErrorWithMessage("Expected at least two onNext events to measure inter-arrival latency.");
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        Observable.just(1).subscribe(ts);
+
+        Assertions.assertThat(ts).hasInterArrivalLatencyPercentileBelow(50, 1, TimeUnit.MILLISECONDS);
+    }
+
+    // hasTimeToFirstValueBelow
+
+    @Test
+    public void hasTimeToFirstValueBelow_asserts_whenSlow() {
+        expectAssertionErrorWithMessage("Expected the time to first onNext event to be below <1 MILLISECONDS>");
+        TimedTestSubscriber<Long> ts = new TimedTestSubscriber<Long>();
+        Observable.timer(20, TimeUnit.MILLISECONDS).subscribe(ts);
+        ts.awaitTerminalEvent();
+
+        Assertions.assertThat(ts).hasTimeToFirstValueBelow(1, TimeUnit.MILLISECONDS);
+    }
+
+    // hasTimeToTerminalEventBelow
+
+    @Test
+    public void hasTimeToTerminalEventBelow_asserts_whenNotTerminated() {
+        expectAssertionErrorWithMessage("Expected a terminal event to measure the time to it.");
+        TimedTestSubscriber<Object> ts = new TimedTestSubscriber<Object>();
+        Observable.never().subscribe(ts);
+
+        Assertions.assertThat(ts).hasTimeToTerminalEventBelow(1, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void hasTimeToTerminalEventBelow_asserts_whenNotTimedTestSubscriber() {
+        expectAssertionErrorWithMessage("Expected an instance of TimedTestSubscriber");
+        TestSubscriber<Object> ts = new TestSubscriber<Object>();
+        Observable.empty().subscribe(ts);
+
+        new TestSubscriberAssert<Object>(ts, TestSubscriberAssert.class).hasTimeToTerminalEventBelow(1, TimeUnit.SECONDS);
+    }
+
+    // hasThroughputAtLeast
+
+    @Test
+    public void hasThroughputAtLeast_doesNotAssert_whenFastEnough() {
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        Observable.range(0, 10000).subscribe(ts);
+
+        Assertions.assertThat(ts).hasThroughputAtLeast(1000, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void hasThroughputAtLeast_asserts_whenTooSlow() throws InterruptedException {
+        expectAssertionErrorWithMessage("Expected throughput of at least <1000> events per <SECONDS>, but was: <");
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        ts.onStart();
+        ts.onNext(1);
+        Thread.sleep(20);
+        ts.onCompleted();
+
+        Assertions.assertThat(ts).hasThroughputAtLeast(1000, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void hasThroughputAtLeast_excludesWarmup_whenWarmupSlow() throws InterruptedException {
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        ts.onStart();
+        Thread.sleep(50);
+        ts.onNext(0);
+        for (int i = 1; i <= 1000; i++) {
+            ts.onNext(i);
+        }
+        ts.onCompleted();
+
+        Assertions.assertThat(ts).hasThroughputAtLeast(10000, TimeUnit.SECONDS, 1);
+    }
+
+    @Test
+    public void hasThroughputAtLeast_asserts_whenNoEventsAfterWarmup() {
+        expectAssertionErrorWithMessage("Expected onNext events after <3> warmup events, but received: <3>.");
+        TimedTestSubscriber<Integer> ts = new TimedTestSubscriber<Integer>();
+        Observable.range(0, 3).subscribe(ts);
+
+        Assertions.assertThat(ts).hasThroughputAtLeast(1, TimeUnit.SECONDS, 3);
+    }
+
+    // allValuesSatisfy
+
+    @Test
+    public void allValuesSatisfy_doesNotAssert_whenAllMatch() {
+        Assertions.assertThat(range(0, 100000)).allValuesSatisfy(IS_NON_NEGATIVE);
+    }
+
+    @Test
+    public void allValuesSatisfy_doesNotAssert_whenAllMatchInParallel() {
+        Assertions.assertThat(range(0, 100000)).usingParallelEvaluation().allValuesSatisfy(IS_NON_NEGATIVE);
+    }
+
+    @Test
+    public void allValuesSatisfy_asserts_withLowestFailingIndex() {
+        expectAssertionErrorWithMessage("Expected all onNext events to satisfy the predicate, but event at index <1> of <100000> did not: <1>.");
+
+        Assertions.assertThat(range(0, 100000)).allValuesSatisfy(IS_EVEN);
+    }
+
+    @Test
+    public void allValuesSatisfy_asserts_withLowestFailingIndexInParallel() {
+        expectAssertionErrorWithMessage("Expected all onNext events to satisfy the predicate, but event at index <70001> of <100000> did not: <-70001>.");
+        TestSubscriber<Integer> ts = range(0, 100000);
+        ts.getOnNextEvents().set(99999, -99999);
+        ts.getOnNextEvents().set(70001, -70001);
+        ts.getOnNextEvents().set(80000, -80000);
+
+        Assertions.assertThat(ts).usingParallelEvaluation().allValuesSatisfy(IS_NON_NEGATIVE);
+    }
+
+    @Test
+    public void allValuesSatisfy_propagatesPredicateException_inParallel() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("bad predicate");
+
+        Assertions.assertThat(range(0, 100000)).usingParallelEvaluation().allValuesSatisfy(new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                if (value == 5000) {
+                    throw new IllegalStateException("bad predicate");
+                }
+                return true;
+            }
+        });
+    }
+
+    // noValueSatisfies
+
+    @Test
+    public void noValueSatisfies_doesNotAssert_whenNoneMatch() {
+        Assertions.assertThat(range(0, 100000)).usingParallelEvaluation().noValueSatisfies(new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                return value < 0;
+            }
+        });
+    }
+
+    @Test
+    public void noValueSatisfies_asserts_withLowestMatchingIndex() {
+        expectAssertionErrorWithMessage("Expected no onNext events to satisfy the predicate, but event at index <0> of <10> did: <0>.");
+
+        Assertions.assertThat(range(0, 10)).noValueSatisfies(IS_EVEN);
+    }
+
+    // countOfValuesSatisfying
+
+    @Test
+    public void countOfValuesSatisfying_countsMatches() {
+        Assertions.assertThat(range(0, 100001)).countOfValuesSatisfying(IS_EVEN).isEqualTo(50001);
+        Assertions.assertThat(range(0, 100001)).usingParallelEvaluation().countOfValuesSatisfying(IS_EVEN).isEqualTo(50001);
+    }
+
+    private static TestSubscriber<Integer> range(final int start, final int count) {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(start, count).subscribe(ts);
+        return ts;
+    }
+
+    private static <T> Func1<T, Boolean> equalTo(final T expected) {
+        return new Func1<T, Boolean>() {
+            @Override
+            public Boolean call(final T value) {
+                return expected.equals(value);
+            }
+        };
+    }
+
+    private static Func1<Integer, Boolean> isPositive() {
+        return new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                return value > 0;
+            }
+        };
+    }
+
+    private File recordRange(final int start, final int count) throws IOException {
+        File file = folder.newFile();
+        TestSubscriber<Integer> recorded = new TestSubscriber<Integer>();
+        Observable.range(start, count).subscribe(recorded);
+        Recordings.record(recorded, file, ValueCodecs.integers());
+        return file;
+    }
+
     private void expectAssertionErrorWithMessage(final String message) {
         thrown.expect(AssertionError.class);
         thrown.expectMessage(message);
     }
 
+    private static class BlockingObserver implements Observer<Integer> {
+
+        private final CountDownLatch entered;
+        private final CountDownLatch release;
+
+        BlockingObserver(final CountDownLatch entered, final CountDownLatch release) {
+            this.entered = entered;
+            this.release = release;
+        }
+
+        @Override
+        public void onNext(final Integer value) {
+            if (entered.getCount() > 0) {
+                entered.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void onCompleted() {
+        }
+
+        @Override
+        public void onError(final Throwable e) {
+        }
+    }
 }
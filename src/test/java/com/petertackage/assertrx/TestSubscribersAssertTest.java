@@ -0,0 +1,181 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Action1;
+import rx.observers.TestSubscriber;
+import rx.schedulers.Schedulers;
+import rx.subjects.PublishSubject;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class TestSubscribersAssertTest {
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void allSatisfy_doesNotAssert_whenAllSubscribersPass() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        List<TestSubscriber<Integer>> subscribers = subscribe(subject, 1000);
+        subject.onNext(1);
+        subject.onNext(2);
+        subject.onCompleted();
+
+        Assertions.assertThatAll(subscribers).allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+            @Override
+            public void call(final TestSubscriberAssert<Integer> ts) {
+                ts.hasNoErrors().hasReceivedValues(1, 2).hasCompleted();
+            }
+        });
+    }
+
+    @Test
+    public void allSatisfy_reportsEveryFailingSubscriber_groupedByMessage() {
+        PublishSubject<Integer> subject = PublishSubject.create();
+        List<TestSubscriber<Integer>> subscribers = subscribe(subject, 10);
+        subject.onNext(1);
+        subscribers.get(3).onNext(99);
+        subscribers.get(7).onNext(99);
+        subscribers.get(5).onError(new IllegalStateException());
+
+        try {
+            Assertions.assertThatAll(subscribers).allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+                @Override
+                public void call(final TestSubscriberAssert<Integer> ts) {
+                    ts.hasValueCount(1).hasNoErrors();
+                }
+            });
+        } catch (AssertionError e) {
+            assertThat(e.getMessage())
+                    .startsWith("Expected all <10> subscribers to satisfy the checks, but <3> failed:")
+                    .contains("subscribers at indexes <[3, 7]>: ")
+                    .contains("subscribers at indexes <[5]>: ");
+            return;
+        }
+        throw new AssertionError("Expected failure");
+    }
+
+    @Test
+    public void afterTerminalEvent_appliesSharedDeadline() {
+        List<TestSubscriber<Integer>> subscribers = new ArrayList<TestSubscriber<Integer>>();
+        for (int i = 0; i < 20; i++) {
+            TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+            Observable.<Integer>never().subscribe(ts);
+            subscribers.add(ts);
+        }
+        long start = System.nanoTime();
+
+        try {
+            Assertions.assertThatAll(subscribers)
+                    .afterTerminalEvent(100, TimeUnit.MILLISECONDS)
+                    .allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+                        @Override
+                        public void call(final TestSubscriberAssert<Integer> ts) {
+                            ts.hasTerminalEvent();
+                        }
+                    });
+        } catch (AssertionError e) {
+            assertThat(e.getMessage()).contains("<20> failed");
+            // Twenty sequential timeouts would take two seconds.
+            assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start)).isLessThan(1000);
+            return;
+        }
+        throw new AssertionError("Expected failure");
+    }
+
+    @Test
+    public void afterTerminalEvent_awaitsAsynchronousSubscribers() {
+        List<TestSubscriber<Integer>> subscribers = new ArrayList<TestSubscriber<Integer>>();
+        for (int i = 0; i < 50; i++) {
+            TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+            Observable.just(i).delay(10, TimeUnit.MILLISECONDS, Schedulers.computation()).subscribe(ts);
+            subscribers.add(ts);
+        }
+
+        Assertions.assertThatAll(subscribers)
+                .afterTerminalEvent(5, TimeUnit.SECONDS)
+                .allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+                    @Override
+                    public void call(final TestSubscriberAssert<Integer> ts) {
+                        ts.hasCompleted().hasValueCount(1);
+                    }
+                });
+    }
+
+    @Test
+    public void usingExecutor_runsChecksOnExecutor() {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            final List<Thread> threads = new CopyOnWriteArrayList<Thread>();
+            Assertions.assertThatAll(subscribe(PublishSubject.<Integer>create(), 5))
+                    .usingExecutor(executor)
+                    .allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+                        @Override
+                        public void call(final TestSubscriberAssert<Integer> ts) {
+                            threads.add(Thread.currentThread());
+                        }
+                    });
+
+            assertThat(threads).hasSize(5).doesNotContain(Thread.currentThread());
+            assertThat(executor.isShutdown()).isFalse();
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void allSatisfy_reportsEverySubscriber_whenChecksThrowError() {
+        thrown.expect(AssertionError.class);
+        thrown.expectMessage(String.format("Expected all <5> subscribers to satisfy the checks, but <5> failed:%n"
+                + "  subscribers at indexes <[0, 1, 2, 3, 4]>: java.lang.StackOverflowError: deep"));
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Assertions.assertThatAll(subscribe(PublishSubject.<Integer>create(), 5))
+                    .usingExecutor(executor)
+                    .allSatisfy(new Action1<TestSubscriberAssert<Integer>>() {
+                        @Override
+                        public void call(final TestSubscriberAssert<Integer> ts) {
+                            throw new StackOverflowError("deep");
+                        }
+                    });
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<TestSubscriber<Integer>> subscribe(final Observable<Integer> source, final int count) {
+        List<TestSubscriber<Integer>> subscribers = new ArrayList<TestSubscriber<Integer>>();
+        for (int i = 0; i < count; i++) {
+            TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+            source.subscribe(ts);
+            subscribers.add(ts);
+        }
+        return subscribers;
+    }
+
+}
@@ -0,0 +1,35 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Test;
+import rx.Observable;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ThreadRecordingTestSubscriberTest {
+
+    @Test
+    public void recordsThreadOfEveryEvent() {
+        ThreadRecordingTestSubscriber<Integer> ts = new ThreadRecordingTestSubscriber<Integer>();
+        Observable.range(0, 3).subscribe(ts);
+
+        assertThat(ts.getEventCount()).isEqualTo(4);
+        assertThat(ts.getEventThread(3)).isEqualTo(Thread.currentThread());
+        assertThat(ts.getThreads()).containsExactly(Thread.currentThread());
+        assertThat(ts.getThreadHopCount()).isEqualTo(0);
+    }
+}
@@ -0,0 +1,112 @@
+/**
+ * Copyright 2016 Peter Tackage
+ * <p/>
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * <p/>
+ * http://www.apache.org/licenses/LICENSE-2.0
+ * <p/>
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.petertackage.assertrx;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import rx.Observable;
+import rx.functions.Func1;
+import rx.observers.TestSubscriber;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ValueScanTest {
+
+    private static final Func1<Integer, Boolean> IS_NON_NEGATIVE = new Func1<Integer, Boolean>() {
+        @Override
+        public Boolean call(final Integer value) {
+            return value >= 0;
+        }
+    };
+
+    private static final Func1<Integer, Boolean> IS_EVEN = new Func1<Integer, Boolean>() {
+        @Override
+        public Boolean call(final Integer value) {
+            return value % 2 == 0;
+        }
+    };
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void firstIndexOf_findsLowerMatch_whenPredicateThrowsAtHigherIndex() {
+        List<Integer> values = range(100000).getOnNextEvents();
+        values.set(40000, -1);
+        Func1<Integer, Boolean> throwingAtEnd = new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                if (value >= 90000) {
+                    throw new IllegalStateException("bad predicate");
+                }
+                return value >= 0;
+            }
+        };
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(ValueScan.firstIndexOf(values, throwingAtEnd, false, 4)).isEqualTo(40000);
+        }
+    }
+
+    @Test
+    public void firstIndexOf_rethrows_whenPredicateThrowsBeforeAnyMatch() {
+        thrown.expect(IllegalStateException.class);
+        thrown.expectMessage("bad predicate at 30000");
+        List<Integer> values = range(100000).getOnNextEvents();
+        values.set(40000, -1);
+
+        ValueScan.firstIndexOf(values, new Func1<Integer, Boolean>() {
+            @Override
+            public Boolean call(final Integer value) {
+                if (value == 30000 || value == 60000) {
+                    throw new IllegalStateException("bad predicate at " + value);
+                }
+                return value >= 0;
+            }
+        }, false, 4);
+    }
+
+    @Test
+    public void firstIndexOf_findsLowestIndex_withManyWorkers() {
+        List<Integer> values = range(100000).getOnNextEvents();
+        values.set(99999, -1);
+        values.set(70001, -1);
+        values.set(40000, -1);
+
+        for (int i = 0; i < 20; i++) {
+            assertThat(ValueScan.firstIndexOf(values, IS_NON_NEGATIVE, false, 4)).isEqualTo(40000);
+        }
+    }
+
+    @Test
+    public void count_countsAllBlocks_withManyWorkers() {
+        assertThat(ValueScan.count(range(100001).getOnNextEvents(), IS_EVEN, 4)).isEqualTo(50001);
+    }
+
+    @Test
+    public void firstIndexOf_returnsNotFound_whenEmpty() {
+        assertThat(ValueScan.firstIndexOf(range(0).getOnNextEvents(), IS_EVEN, true, true)).isEqualTo(ValueScan.NOT_FOUND);
+    }
+
+    private static TestSubscriber<Integer> range(final int count) {
+        TestSubscriber<Integer> ts = new TestSubscriber<Integer>();
+        Observable.range(0, count).subscribe(ts);
+        return ts;
+    }
+}